@@ -19,7 +19,7 @@ public class CreditCardPaymentStrategy implements IPaymentStrategy {
     }
 
     @Override
-    public void pay(int orderId, double amount) {
+    public void pay(long orderId, double amount) {
         System.out.println("💳 Payment method selected: Credit Card (" + maskCardNumber(cardNumber) + ")");
         System.out.printf("✅ Payment successful via Credit Card for amount ₹%.2f for order ID: #%d%n", amount, orderId);
 
@@ -4,21 +4,22 @@ import Projects.ZomatoClone.models.Location;
 import Projects.ZomatoClone.service.DistanceStrategy;
 
 public class HaversineDistanceStrategy implements DistanceStrategy {
+    static final double EARTH_RADIUS_KM = 6371; // Radius of the Earth in kilometers
 
     @Override
     public double calculateDistance(Location start, Location end) {
-        final int R = 6371; // Radius of the Earth in kilometers
-        double latDistance = Math.toRadians(end.getLatitude() - start.getLatitude());
-        double lonDistance = Math.toRadians(end.getLongitude() - start.getLongitude());
+        double latDistance = end.getLatitudeRadians() - start.getLatitudeRadians();
+        double lonDistance = end.getLongitudeRadians() - start.getLongitudeRadians();
 
         double sinLat = Math.sin(latDistance / 2);
         double sinLon = Math.sin(lonDistance / 2);
 
+        // cos(lat) is cached on Location, leaving two sines per pair
         double aCalc = sinLat * sinLat +
-                Math.cos(Math.toRadians(start.getLatitude())) * Math.cos(Math.toRadians(end.getLatitude())) *
+                start.getCosLatitude() * end.getCosLatitude() *
                 sinLon * sinLon;
 
         double c = 2 * Math.atan2(Math.sqrt(aCalc), Math.sqrt(1 - aCalc));
-        return R * c; // Distance in kilometers
+        return EARTH_RADIUS_KM * c; // Distance in kilometers
     }
 }
@@ -1,5 +1,14 @@
 package Projects.ZomatoClone.strategies;
 
+import java.util.List;
+
 public interface INotificationSender {
     void sendNotification(String userName, String message);
+
+    // Several messages for one user in one call; gateways that support it should override
+    default void sendBatch(String userName, List<String> messages) {
+        for (String message : messages) {
+            sendNotification(userName, message);
+        }
+    }
 }
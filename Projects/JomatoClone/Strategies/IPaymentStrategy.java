@@ -1,5 +1,5 @@
 package Projects.ZomatoClone.strategies;
 
 public interface IPaymentStrategy {
-    void pay(int orderId,double amount);
+    void pay(long orderId,double amount);
 }
@@ -1,9 +1,21 @@
 package Projects.ZomatoClone.strategies;
 
+import java.util.List;
+
 public class SMSNotificationSender implements INotificationSender{
 
     @Override
     public void sendNotification(String userName, String message) {
         System.out.println("📩 SMS to " + userName + ": \"" + message + "\"");
     }
+
+    // One SMS with every pending update instead of one per message
+    @Override
+    public void sendBatch(String userName, List<String> messages) {
+        if (messages.size() == 1) {
+            sendNotification(userName, messages.get(0));
+            return;
+        }
+        System.out.println("📩 SMS to " + userName + ": \"" + String.join(" | ", messages) + "\"");
+    }
 }
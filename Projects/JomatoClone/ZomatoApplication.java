@@ -1,9 +1,9 @@
 package Projects.ZomatoClone;
 
+import Projects.ZomatoClone.enums.NotificationChannel;
 import Projects.ZomatoClone.models.*;
 import Projects.ZomatoClone.service.NotificationManager;
 import Projects.ZomatoClone.strategies.CreditCardPaymentStrategy;
-import Projects.ZomatoClone.strategies.SMSNotificationSender;
 
 public class ZomatoApplication {
     public static void main(String[] args) {
@@ -41,12 +41,17 @@ public class ZomatoApplication {
             System.out.println("🧾 Order placed: Order #" + order.getOrderId());
 
             // 🔔 Notify user
-            NotificationManager.getInstance().notifyUser(order.getUser().getName(), "Your order has been accepted!", new SMSNotificationSender());
-            zomato.processOrder(order);
+            NotificationManager.getInstance().notifyOrderUpdate(order.getOrderId(), order.getUser().getName(), "Your order has been accepted!", NotificationChannel.SMS);
+            // Pipeline runs on timers; the demo waits for delivery before printing the invoice
+            zomato.processOrder(order).join();
         } else {
             System.out.println("🚫 Cannot process unpaid order.");
+            zomato.cancelOrder(order);
         }
 
+        // Notifications go out on their own workers; let them drain before the invoice
+        NotificationManager.getInstance().flush(1000);
+
         // 🧾 Step 8: Print Final Invoice
         order.printInvoice();
     }
@@ -2,10 +2,14 @@ package Projects.ZomatoClone;
 
 import Projects.ZomatoClone.managers.*;
 import Projects.ZomatoClone.models.*;
-import Projects.ZomatoClone.strategies.HaversineDistanceStrategy;
+import Projects.ZomatoClone.service.AdmissionController;
+import Projects.ZomatoClone.service.OrderLatencyMetrics;
+import Projects.ZomatoClone.strategies.EquirectangularDistanceStrategy;
 import Projects.ZomatoClone.strategies.IPaymentStrategy;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ZomatoFacade {
     private static volatile ZomatoFacade instance;
@@ -18,7 +22,8 @@ public class ZomatoFacade {
                 new Rider("Anjali", new Location(22.58, 88.35))
         );
         riderMgr.setRiders(riders);
-        riderMgr.setDistanceStrategy(new HaversineDistanceStrategy());
+        // Cheap flat approximation for ranking; exact Haversine kicks in beyond 50 km
+        riderMgr.setDistanceStrategy(new EquirectangularDistanceStrategy(50.0));
     }
 
     public static ZomatoFacade getInstance() {
@@ -53,10 +58,15 @@ public class ZomatoFacade {
 
     // ✅ Add a dish to a restaurant's menu
     public void addDishToMenu(Restaurant restaurant, Dish dish) {
-        restaurant.addMenuItem(dish);
+        RestaurantManager.getInstance().addMenuItem(restaurant, dish);
         System.out.println("🍽️ Dish added to " + restaurant.getName() + " menu: " + dish.getName());
     }
 
+    // ✅ Home feed: open restaurants near the user serving a matching dish
+    public List<Restaurant> searchRestaurants(User user, double radiusKm, String dishTerm) {
+        return RestaurantManager.getInstance().searchRestaurants(user.getLocation(), radiusKm, dishTerm);
+    }
+
     // ✅ Add item to user's cart
     public void addToCart(User user, Dish dish, int quantity) {
         user.getCart().addItem(dish, quantity);
@@ -65,12 +75,24 @@ public class ZomatoFacade {
 
     // ✅ Place an order (only creates and accepts, no payment or processing)
     public Order placeOrder(User user) {
+        if (user.getCart().isMultiRestaurant()) {
+            return placeSplitOrder(user);
+        }
         Restaurant restaurant = user.getCart().getRestaurant();
 
         // Ensure restaurant is open
         boolean canAccept = RestaurantManager.getInstance().canAcceptOrder(restaurant);
         if (!canAccept) {
-            System.out.println("🚫 Restaurant " + restaurant.getName() + " is currently closed.");
+            System.out.println("🚫 Restaurant " + restaurant.getName() + " cannot accept orders right now.");
+            return null;
+        }
+
+        // Shed load early: fail fast instead of queueing behind a backlog
+        AdmissionController admission = AdmissionController.getInstance();
+        AdmissionController.Permit permit = admission.tryAdmit(restaurant);
+        if (permit == null) {
+            System.out.printf("🚦 %s is too busy right now; please retry in %.1f s.%n",
+                    restaurant.getName(), admission.getRetryAfterMillis(restaurant) / 1000.0);
             return null;
         }
 
@@ -80,11 +102,68 @@ public class ZomatoFacade {
         Order order = OrderManager.getInstance().createOrder(user);
         if (order == null) {
             System.out.println("❌ Order placement failed.");
+            permit.cancel();
+            return null;
         }
+        admission.attach(order, permit);
 
         return order;
     }
 
+    // ✅ Multi-restaurant cart: every restaurant must accept, or none is charged a slot
+    private Order placeSplitOrder(User user) {
+        AdmissionController admission = AdmissionController.getInstance();
+        List<AdmissionController.Permit> permits = new ArrayList<>();
+        for (Cart.Section section : user.getCart().getSections()) {
+            Restaurant restaurant = section.getRestaurant();
+            if (!RestaurantManager.getInstance().canAcceptOrder(restaurant)) {
+                System.out.println("🚫 Restaurant " + restaurant.getName() + " cannot accept orders right now.");
+                permits.forEach(AdmissionController.Permit::cancel);
+                return null;
+            }
+            AdmissionController.Permit permit = admission.tryAdmit(restaurant);
+            if (permit == null) {
+                System.out.printf("🚦 %s is too busy right now; please retry in %.1f s.%n",
+                        restaurant.getName(), admission.getRetryAfterMillis(restaurant) / 1000.0);
+                permits.forEach(AdmissionController.Permit::cancel);
+                return null;
+            }
+            permits.add(permit);
+        }
+        System.out.println("🏪 All " + permits.size() + " restaurants are open and can accept the order.");
+
+        Order order = OrderManager.getInstance().createOrder(user);
+        if (order == null) {
+            System.out.println("❌ Order placement failed.");
+            permits.forEach(AdmissionController.Permit::cancel);
+            return null;
+        }
+        // Sub-orders follow the cart's section order
+        List<Order> subOrders = order.getSubOrders();
+        for (int i = 0; i < subOrders.size(); i++) {
+            admission.attach(subOrders.get(i), permits.get(i));
+        }
+        return order;
+    }
+
+    // Suggested wait before retrying an order that placeOrder turned away
+    public long getRetryAfterMillis(Restaurant restaurant) {
+        return AdmissionController.getInstance().getRetryAfterMillis(restaurant);
+    }
+
+    // ✅ Drop a placed order that will not be processed (e.g. unpaid), freeing its admission slot
+    public void cancelOrder(Order order) {
+        if (order == null) {
+            return;
+        }
+        AdmissionController.getInstance().cancel(order);
+        for (Order subOrder : order.getSubOrders()) {
+            AdmissionController.getInstance().cancel(subOrder);
+        }
+        OrderManager.getInstance().closeOrder(order);
+        System.out.println("🛑 Order #" + order.getOrderId() + " cancelled.");
+    }
+
     // ✅ Set payment strategy and process payment
     public void makePayment(Order order, IPaymentStrategy strategy) {
         if (order == null) {
@@ -93,19 +172,21 @@ public class ZomatoFacade {
         }
 
         order.setPaymentStrategy(strategy);
+        long startedAt = System.nanoTime();
         order.processPayment();
+        OrderLatencyMetrics.getInstance().recordPayment(order, System.nanoTime() - startedAt);
         // ✅ Mark order as paid
         order.markPaid();
     }
 
-    // ✅ Process full order after payment
-    public void processOrder(Order order) {
+    // ✅ Process full order after payment; non-blocking, the future completes on delivery
+    public CompletableFuture<Order> processOrder(Order order) {
         if (order == null) {
             System.out.println("⚠️ Cannot process a null order.");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         // ✅ Now centralized: OrderManager handles food + delivery internally
-        OrderManager.getInstance().processOrder(order);
+        return OrderManager.getInstance().processOrder(order);
     }
 }
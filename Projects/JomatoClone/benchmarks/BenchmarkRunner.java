@@ -0,0 +1,42 @@
+package Projects.ZomatoClone.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+// Runs the JMH suite once per thread count and writes one JSON result file per run.
+// JMH takes the thread count as a run option rather than a @Param, so the sweep lives here.
+//
+//   java -jar target/benchmarks.jar                         -> every benchmark, 1..32 threads
+//   java -Dbench.threads=1,8 -jar target/benchmarks.jar Menu -> only MenuBenchmark, 1 and 8 threads
+//
+// Any other argument is passed to JMH as on its own command line.
+// Results go to target/jmh/results-<threads>t.json (-Dbench.results=<dir> to change).
+public class BenchmarkRunner {
+    private static final String DEFAULT_THREADS = "1,2,4,8,16,32";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        File resultDir = new File(System.getProperty("bench.results", "target/jmh"));
+        if (!resultDir.isDirectory() && !resultDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + resultDir);
+        }
+
+        for (String value : System.getProperty("bench.threads", DEFAULT_THREADS).split(",")) {
+            int threads = Integer.parseInt(value.trim());
+            File result = new File(resultDir, "results-" + threads + "t.json");
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(result.getPath())
+                    .build();
+            new Runner(options).run();
+            System.out.println("📄 " + threads + " thread(s): " + result.getPath());
+        }
+    }
+}
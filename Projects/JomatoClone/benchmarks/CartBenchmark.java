@@ -0,0 +1,66 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.models.Cart;
+import Projects.ZomatoClone.models.Dish;
+import Projects.ZomatoClone.models.Location;
+import Projects.ZomatoClone.models.Restaurant;
+import Projects.ZomatoClone.models.RestaurantOwner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Cart.getTotalCost and an add + remove of one line, for carts of `lines` lines.
+// A cart belongs to one user, so each benchmark thread has its own.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dzomato.events=none", "-Dzomato.metrics=off"})
+public class CartBenchmark {
+    @Param({"1", "10", "100"})
+    public int lines;
+
+    private Cart cart;
+    private Dish extra;
+
+    @Setup
+    public void setUp() {
+        Restaurant restaurant = new Restaurant("Benchmark Kitchen", new RestaurantOwner("Owner"), new Location(22.57, 88.36));
+        for (int i = 0; i < lines; i++) {
+            restaurant.addMenuItem(new Dish("Dish " + i, 100 + i));
+        }
+        extra = new Dish("Extra", 99);
+        restaurant.addMenuItem(extra);
+
+        cart = new Cart();
+        cart.setRestaurant(restaurant);
+        for (Dish dish : restaurant.getMenuItem()) {
+            if (dish != extra) {
+                cart.addItem(dish, 1 + dish.getName().length() % 3);
+            }
+        }
+    }
+
+    @Benchmark
+    public double getTotalCost() {
+        return cart.getTotalCost();
+    }
+
+    @Benchmark
+    public long addAndRemoveLine() {
+        cart.addItem(extra, 2);
+        cart.removeItem(extra, 2);
+        return cart.getTotalCostPaise();
+    }
+}
@@ -0,0 +1,94 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.models.Location;
+import Projects.ZomatoClone.service.DistanceStrategy;
+import Projects.ZomatoClone.strategies.EquirectangularDistanceStrategy;
+import Projects.ZomatoClone.strategies.HaversineDistanceStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Distances from one origin to `points` riders spread over the city:
+// Haversine against the equirectangular approximation, pair by pair and
+// through the batch form over packed lat/lon (the Haversine batch is the
+// interface default, one scratch Location per call).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dzomato.events=none", "-Dzomato.metrics=off"})
+public class DistanceBenchmark {
+    @Param({"64", "1024", "16384"})
+    public int points;
+
+    private final DistanceStrategy haversine = new HaversineDistanceStrategy();
+    private final DistanceStrategy equirectangular = new EquirectangularDistanceStrategy(50);
+    private Location origin;
+    private Location[] locations;
+    private double[] packedLatLon;
+
+    @State(Scope.Thread)
+    public static class Output {
+        double[] distances;
+
+        @Setup
+        public void setUp(DistanceBenchmark benchmark) {
+            distances = new double[benchmark.points];
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        origin = RiderAssignmentBenchmark.randomLocation(random);
+        locations = new Location[points];
+        packedLatLon = new double[2 * points];
+        for (int i = 0; i < points; i++) {
+            locations[i] = RiderAssignmentBenchmark.randomLocation(random);
+            packedLatLon[2 * i] = locations[i].getLatitude();
+            packedLatLon[2 * i + 1] = locations[i].getLongitude();
+        }
+    }
+
+    @Benchmark
+    public double haversinePairwise() {
+        return sumPairwise(haversine);
+    }
+
+    @Benchmark
+    public double equirectangularPairwise() {
+        return sumPairwise(equirectangular);
+    }
+
+    @Benchmark
+    public double[] haversineBatch(Output output) {
+        haversine.calculateDistances(origin, packedLatLon, points, output.distances);
+        return output.distances;
+    }
+
+    @Benchmark
+    public double[] equirectangularBatch(Output output) {
+        equirectangular.calculateDistances(origin, packedLatLon, points, output.distances);
+        return output.distances;
+    }
+
+    private double sumPairwise(DistanceStrategy strategy) {
+        double sum = 0;
+        for (Location location : locations) {
+            sum += strategy.calculateDistance(origin, location);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,26 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.utils.IdGeneration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// IDs per second from the shared generator. Throughput across thread counts
+// shows how much the single CAS costs under contention.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGenerationBenchmark {
+    @Benchmark
+    public long nextId() {
+        return IdGeneration.nextId();
+    }
+}
@@ -0,0 +1,71 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.utils.IdGeneration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Generates `total` IDs from `threads` threads and fails (exit code 1) on any
+// duplicate. IDs are checked a round at a time: each round is sorted and scanned
+// for neighbours that are equal, and must start above the previous round's highest ID.
+//
+//   java -cp target/benchmarks.jar Projects.ZomatoClone.benchmarks.IdUniquenessTest [total] [threads]
+public class IdUniquenessTest {
+    private static final int ROUND_SIZE = 10_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        long total = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+
+        long[] round = new long[ROUND_SIZE];
+        long previousMax = Long.MIN_VALUE;
+        long duplicates = 0;
+        long overlaps = 0;
+        long generated = 0;
+        long generatingNanos = 0;
+        while (generated < total) {
+            int size = (int) Math.min(ROUND_SIZE, total - generated);
+            long start = System.nanoTime();
+            fill(round, size, threads);
+            generatingNanos += System.nanoTime() - start;
+
+            Arrays.parallelSort(round, 0, size);
+            for (int i = 1; i < size; i++) {
+                if (round[i] == round[i - 1]) duplicates++;
+            }
+            if (round[0] <= previousMax) overlaps++;
+            previousMax = round[size - 1];
+            generated += size;
+        }
+
+        System.out.printf("%,d IDs from %d threads: %,.0f IDs/s%n",
+                generated, threads, generated / (generatingNanos / 1e9));
+        System.out.println("Duplicates         : " + duplicates);
+        System.out.println("Overlapping rounds : " + overlaps);
+        boolean ok = duplicates == 0 && overlaps == 0;
+        System.out.println(ok ? "✅ PASS" : "❌ FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // ✅ Each thread fills its own slice of the round
+    private static void fill(long[] round, int size, int threads) throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) size * t / threads);
+            int to = (int) ((long) size * (t + 1) / threads);
+            Thread worker = new Thread(() -> {
+                for (int i = from; i < to; i++) {
+                    round[i] = IdGeneration.nextId();
+                }
+            }, "ids-" + t);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.models.Dish;
+import Projects.ZomatoClone.models.Menu;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Menu.getDishByName on menus of `menuSize` dishes. Queries use a different case
+// from the menu, so the case-folding is part of what is measured.
+// The menu is shared, as it is between concurrent customers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dzomato.events=none", "-Dzomato.metrics=off"})
+public class MenuBenchmark {
+    private static final int QUERIES = 4096; // power of two
+
+    @Param({"10", "1000", "100000"})
+    public int menuSize;
+
+    private Menu menu;
+    private String[] hits;
+    private String[] misses;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        menu = new Menu("Benchmark Kitchen");
+        for (int i = 0; i < menuSize; i++) {
+            menu.addDish(new Dish("Dish " + i, 100 + i % 400));
+        }
+        Random random = new Random(42);
+        hits = new String[QUERIES];
+        misses = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            hits[i] = ("Dish " + random.nextInt(menuSize)).toUpperCase(Locale.ROOT);
+            misses[i] = "NOT ON THE MENU " + i;
+        }
+    }
+
+    @Benchmark
+    public Dish getDishByNameHit(Cursor cursor) {
+        return menu.getDishByName(hits[cursor.next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public Dish getDishByNameMiss(Cursor cursor) {
+        return menu.getDishByName(misses[cursor.next++ & (QUERIES - 1)]);
+    }
+}
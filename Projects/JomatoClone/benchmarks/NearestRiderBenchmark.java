@@ -0,0 +1,96 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.models.Location;
+import Projects.ZomatoClone.models.Rider;
+import Projects.ZomatoClone.service.DistanceStrategy;
+import Projects.ZomatoClone.service.GeoGridIndex;
+import Projects.ZomatoClone.strategies.HaversineDistanceStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Nearest available rider: the GeoGridIndex ring search against the linear
+// scan assignRider used before it (every rider, Haversine each). Both use the
+// same distance strategy, so the difference is only how many riders are visited.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dzomato.events=none", "-Dzomato.metrics=off"})
+public class NearestRiderBenchmark {
+    private static final int QUERIES = 1024; // power of two
+
+    @Param({"1000", "10000", "100000"})
+    public int riders;
+
+    private final DistanceStrategy distance = new HaversineDistanceStrategy();
+    private List<Rider> fleet;
+    private GeoGridIndex<Rider> grid;
+    private Location[] origins;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        final Location riderAt = new Location(0, 0);
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        fleet = new ArrayList<>(riders);
+        grid = new GeoGridIndex<>(1.0);
+        for (int i = 0; i < riders; i++) {
+            Rider rider = new Rider("Rider " + i, RiderAssignmentBenchmark.randomLocation(random));
+            fleet.add(rider);
+            Location at = rider.getCurentLocation();
+            grid.put(rider, at.getLatitude(), at.getLongitude());
+        }
+        origins = new Location[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            origins[i] = RiderAssignmentBenchmark.randomLocation(random);
+        }
+    }
+
+    @Benchmark
+    public Rider gridNearest(Cursor cursor) {
+        Location origin = origins[cursor.next++ & (QUERIES - 1)];
+        Location riderAt = cursor.riderAt;
+        List<GeoGridIndex.Neighbor<Rider>> nearest = grid.nearest(origin, 1, Double.MAX_VALUE,
+                Rider::isAvailable, rider -> {
+                    rider.readLocation(riderAt);
+                    return distance.calculateDistance(riderAt, origin);
+                });
+        return nearest.isEmpty() ? null : nearest.get(0).getItem();
+    }
+
+    @Benchmark
+    public Rider linearScan(Cursor cursor) {
+        Location origin = origins[cursor.next++ & (QUERIES - 1)];
+        Rider best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (Rider rider : fleet) {
+            if (!rider.isAvailable()) continue;
+            rider.readLocation(cursor.riderAt);
+            double d = distance.calculateDistance(cursor.riderAt, origin);
+            if (d < bestDistance) {
+                bestDistance = d;
+                best = rider;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,118 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.enums.OrderStatus;
+import Projects.ZomatoClone.service.OrderJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// OrderJournal.append into the mapped segment, alone and followed by sync()
+// (which waits for the next group commit, so with more threads more appends
+// share each fsync). Events walk `orders` order ids through every status, so
+// the journal keeps rolling segments and writing snapshots as it would in use.
+//
+// main() measures recovery instead: it journals `events` events, closes the
+// journal and times reopening it.
+//
+//   java -cp target/benchmarks.jar Projects.ZomatoClone.benchmarks.OrderJournalBenchmark [events] [orders]
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dzomato.events=none", "-Dzomato.metrics=off"})
+public class OrderJournalBenchmark {
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Param({"1000", "1000000"})
+    public int orders;
+
+    private Path dir;
+    private OrderJournal journal;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        long next;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("order-journal-bench");
+        journal = OrderJournal.open(dir);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public void append(Cursor cursor) {
+        appendNext(journal, cursor.next++, orders);
+    }
+
+    @Benchmark
+    public void appendAndSync(Cursor cursor) {
+        appendNext(journal, cursor.next++, orders);
+        journal.sync().join();
+    }
+
+    public static void main(String[] args) throws IOException {
+        long events = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000;
+        int orders = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        Path dir = Files.createTempDirectory("order-journal-recovery");
+        try {
+            OrderJournal journal = OrderJournal.open(dir);
+            long start = System.nanoTime();
+            for (long i = 0; i < events; i++) {
+                appendNext(journal, i, orders);
+            }
+            journal.sync().join();
+            long appendNanos = System.nanoTime() - start;
+            journal.close();
+
+            start = System.nanoTime();
+            OrderJournal reopened = OrderJournal.open(dir);
+            long recoveryNanos = System.nanoTime() - start;
+            System.out.printf("Appended %,d events over %,d orders in %d ms (%.0f ns/event)%n",
+                    events, orders, appendNanos / 1_000_000, appendNanos / (double) events);
+            System.out.println(reopened.recoverySummary());
+            System.out.printf("open() took %d ms, %,d orders in flight%n", recoveryNanos / 1_000_000, reopened.orderCount());
+            reopened.close();
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    // Event i moves order (i % orders) + 1 one status further; ids are never 0
+    private static void appendNext(OrderJournal journal, long i, int orders) {
+        long orderId = i % orders + 1;
+        OrderStatus status = STATUSES[(int) (i / orders % STATUSES.length)];
+        journal.append(orderId, orderId & 1023, orderId & 4095, 25_000, status);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
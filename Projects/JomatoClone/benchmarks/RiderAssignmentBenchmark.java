@@ -0,0 +1,88 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.managers.RiderAssignmentManager;
+import Projects.ZomatoClone.models.Location;
+import Projects.ZomatoClone.models.Order;
+import Projects.ZomatoClone.models.Restaurant;
+import Projects.ZomatoClone.models.RestaurantOwner;
+import Projects.ZomatoClone.models.Rider;
+import Projects.ZomatoClone.models.User;
+import Projects.ZomatoClone.strategies.EquirectangularDistanceStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// assignRider end to end: grid query, ETA re-rank and the reservation CAS.
+// Every assigned rider is released again so the fleet size stays at `riders`.
+// With several threads, dispatches race for the same riders near busy restaurants.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dzomato.events=none", "-Dzomato.metrics=off"})
+public class RiderAssignmentBenchmark {
+    static final double CITY_LAT = 22.57;
+    static final double CITY_LON = 88.36;
+    static final double CITY_SPAN_DEG = 0.3; // ~33 km across
+    private static final int ORDERS = 1024;  // power of two
+
+    @Param({"1000", "10000", "100000"})
+    public int riders;
+
+    private RiderAssignmentManager manager;
+    private Order[] orders;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Rider> fleet = new ArrayList<>(riders);
+        for (int i = 0; i < riders; i++) {
+            fleet.add(new Rider("Rider " + i, randomLocation(random)));
+        }
+        manager = RiderAssignmentManager.getInstance();
+        manager.setDistanceStrategy(new EquirectangularDistanceStrategy(50));
+        manager.setRiders(fleet);
+
+        orders = new Order[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + i, new RestaurantOwner("Owner " + i), randomLocation(random));
+            User user = new User("User " + i, randomLocation(random));
+            user.getCart().setRestaurant(restaurant);
+            orders[i] = new Order(user);
+        }
+    }
+
+    @Benchmark
+    public Rider assignAndRelease(Cursor cursor) {
+        Order order = orders[cursor.next++ & (ORDERS - 1)];
+        Rider rider = manager.assignRider(order);
+        if (rider != null) {
+            manager.releaseRider(rider, null);
+        }
+        return rider;
+    }
+
+    static Location randomLocation(Random random) {
+        return new Location(CITY_LAT + (random.nextDouble() - 0.5) * CITY_SPAN_DEG,
+                CITY_LON + (random.nextDouble() - 0.5) * CITY_SPAN_DEG);
+    }
+}
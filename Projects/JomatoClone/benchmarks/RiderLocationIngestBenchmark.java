@@ -0,0 +1,111 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.managers.RiderAssignmentManager;
+import Projects.ZomatoClone.managers.RiderLocationIngestor;
+import Projects.ZomatoClone.models.Location;
+import Projects.ZomatoClone.models.Rider;
+import Projects.ZomatoClone.strategies.EquirectangularDistanceStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// GPS pings through RiderLocationIngestor: timestamp check, the rider's
+// location write and the grid re-index, per ping. Pings move riders by up to
+// ~500 m, so some of them change grid cell. With several threads, pings for
+// the same riders race on the rider's location lock and the grid.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dzomato.events=none", "-Dzomato.metrics=off"})
+public class RiderLocationIngestBenchmark {
+    private static final int BATCH = 256;
+    private static final int BATCHES = 256; // power of two
+
+    @Param({"1000", "100000"})
+    public int riders;
+
+    private RiderLocationIngestor ingestor;
+    private long[] fleetIds;
+    private Location[] fleetHomes;
+    // Shared clock, so pings keep getting newer; only a ping that loses a race with
+    // another thread's newer ping for the same rider is dropped as out of order
+    private final AtomicLong clock = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Pings {
+        final long[][] riderIds = new long[BATCHES][BATCH];
+        final double[][] latitudes = new double[BATCHES][BATCH];
+        final double[][] longitudes = new double[BATCHES][BATCH];
+        final long[] timestamps = new long[BATCH];
+        int next;
+
+        @Setup
+        public void setUp(RiderLocationIngestBenchmark benchmark) {
+            Random random = new Random(Thread.currentThread().getId());
+            for (int b = 0; b < BATCHES; b++) {
+                for (int i = 0; i < BATCH; i++) {
+                    int rider = random.nextInt(benchmark.riders);
+                    Location home = benchmark.fleetHomes[rider];
+                    riderIds[b][i] = benchmark.fleetIds[rider];
+                    latitudes[b][i] = home.getLatitude() + (random.nextDouble() - 0.5) * 0.01;
+                    longitudes[b][i] = home.getLongitude() + (random.nextDouble() - 0.5) * 0.01;
+                }
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Rider> fleet = new ArrayList<>(riders);
+        fleetIds = new long[riders];
+        fleetHomes = new Location[riders];
+        for (int i = 0; i < riders; i++) {
+            Rider rider = new Rider("Rider " + i, RiderAssignmentBenchmark.randomLocation(random));
+            fleet.add(rider);
+            fleetIds[i] = rider.getRiderId();
+            fleetHomes[i] = rider.getCurentLocation();
+        }
+        RiderAssignmentManager manager = RiderAssignmentManager.getInstance();
+        manager.setDistanceStrategy(new EquirectangularDistanceStrategy(50));
+        manager.setRiders(fleet);
+        ingestor = RiderLocationIngestor.getInstance();
+        clock.set(System.currentTimeMillis());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int ingestBatch(Pings pings) {
+        int b = pings.next++ & (BATCHES - 1);
+        long first = clock.getAndAdd(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            pings.timestamps[i] = first + i;
+        }
+        return ingestor.ingest(pings.riderIds[b], pings.latitudes[b], pings.longitudes[b], pings.timestamps, BATCH);
+    }
+
+    @Benchmark
+    public boolean ingestOne(Pings pings) {
+        int n = pings.next++;
+        int b = n / BATCH & (BATCHES - 1);
+        int i = n & (BATCH - 1);
+        return ingestor.ingest(pings.riderIds[b][i], pings.latitudes[b][i], pings.longitudes[b][i], clock.incrementAndGet());
+    }
+}
@@ -0,0 +1,182 @@
+package Projects.ZomatoClone.benchmarks;
+
+import Projects.ZomatoClone.managers.RiderAssignmentManager;
+import Projects.ZomatoClone.models.Location;
+import Projects.ZomatoClone.models.Order;
+import Projects.ZomatoClone.models.Restaurant;
+import Projects.ZomatoClone.models.RestaurantOwner;
+import Projects.ZomatoClone.models.Rider;
+import Projects.ZomatoClone.models.User;
+import Projects.ZomatoClone.service.NoOpEventSink;
+import Projects.ZomatoClone.service.OrderEventLog;
+import Projects.ZomatoClone.strategies.EquirectangularDistanceStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Many dispatcher threads fight over a small fleet while GPS threads keep moving
+// the riders. Fails (exit code 1) if a rider is ever held by two orders at once,
+// or if the available-rider grid ends up disagreeing with a rider's availability.
+//
+//   java -cp target/benchmarks.jar Projects.ZomatoClone.benchmarks.RiderReservationStressTest [threads] [riders] [seconds]
+public class RiderReservationStressTest {
+    private static final int GPS_THREADS = 4;
+    private static final int ROUNDS = 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int riderCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 5;
+
+        OrderEventLog.getInstance().setSink(new NoOpEventSink());
+        Random random = new Random(42);
+        List<Rider> fleet = new ArrayList<>();
+        for (int i = 0; i < riderCount; i++) {
+            fleet.add(new Rider("Rider " + i, RiderAssignmentBenchmark.randomLocation(random)));
+        }
+        RiderAssignmentManager manager = RiderAssignmentManager.getInstance();
+        manager.setDistanceStrategy(new EquirectangularDistanceStrategy(50));
+        manager.setRiders(fleet);
+
+        Order[] orders = new Order[64];
+        for (int i = 0; i < orders.length; i++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + i, new RestaurantOwner("Owner"), RiderAssignmentBenchmark.randomLocation(random));
+            User user = new User("User " + i, RiderAssignmentBenchmark.randomLocation(random));
+            user.getCart().setRestaurant(restaurant);
+            orders[i] = new Order(user);
+        }
+
+        // ✅ Phase 1: reserve, hold briefly, release
+        Map<Rider, Thread> holders = new ConcurrentHashMap<>();
+        AtomicLong assignments = new AtomicLong();
+        AtomicLong doubleAssignments = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(start("dispatch-" + t, () -> {
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Rider rider = manager.assignRider(orders[r.nextInt(orders.length)]);
+                    if (rider == null) {
+                        continue;
+                    }
+                    assignments.incrementAndGet();
+                    if (holders.putIfAbsent(rider, Thread.currentThread()) != null) {
+                        doubleAssignments.incrementAndGet();
+                        continue;
+                    }
+                    for (int spin = r.nextInt(64); spin > 0; spin--) {
+                        Thread.onSpinWait();
+                    }
+                    holders.remove(rider);
+                    manager.releaseRider(rider, null);
+                }
+            }));
+        }
+        Thread gps = startGps(fleet, deadline);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        gps.join();
+
+        // ✅ Phase 2: in each round half the fleet is reserved (or released) while
+        // GPS threads move those same riders, then the grid is checked against every rider
+        int staleRounds = 0;
+        int stale = 0;
+        ExecutorService movers = Executors.newFixedThreadPool(GPS_THREADS);
+        for (int round = 0; round < ROUNDS; round++) {
+            boolean reserve = round % 2 == 0;
+            CountDownLatch started = new CountDownLatch(GPS_THREADS);
+            CountDownLatch moved = new CountDownLatch(GPS_THREADS);
+            AtomicBoolean flipped = new AtomicBoolean();
+            for (int t = 0; t < GPS_THREADS; t++) {
+                movers.execute(() -> {
+                    started.countDown();
+                    // Keep the riders moving until every flip is done, and once more after
+                    boolean last;
+                    do {
+                        last = flipped.get();
+                        moveEvenRiders(fleet);
+                    } while (!last);
+                    moved.countDown();
+                });
+            }
+            started.await();
+            for (int i = 0; i < fleet.size(); i += 2) {
+                if (reserve) {
+                    fleet.get(i).tryReserve();
+                } else {
+                    manager.releaseRider(fleet.get(i), null);
+                }
+            }
+            flipped.set(true);
+            moved.await();
+            int mismatches = 0;
+            for (Rider rider : fleet) {
+                if (manager.isIndexed(rider) != rider.isAvailable()) mismatches++;
+            }
+            if (mismatches > 0) {
+                staleRounds++;
+                stale += mismatches;
+            }
+        }
+        movers.shutdown();
+
+        int available = 0;
+        for (Rider rider : fleet) {
+            if (rider.isAvailable()) available++;
+        }
+
+        System.out.printf("%d threads, %d riders, %d s: %,d assignments (%,.0f/s)%n",
+                threads, riderCount, seconds, assignments.get(), assignments.get() / (double) seconds);
+        System.out.println("Double assignments : " + doubleAssignments.get());
+        System.out.println("Available riders   : " + available + " / " + riderCount);
+        System.out.println("Grid mismatches    : " + stale + " in " + staleRounds + " of " + ROUNDS + " rounds");
+        boolean ok = doubleAssignments.get() == 0 && stale == 0 && available == riderCount;
+        System.out.println(ok ? "✅ PASS" : "❌ FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static Thread startGps(List<Rider> fleet, long deadline) {
+        return start("gps", () -> {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            Location scratch = new Location(0, 0);
+            Location at = new Location(0, 0);
+            while (System.nanoTime() < deadline) {
+                Rider rider = fleet.get(r.nextInt(fleet.size()));
+                rider.readLocation(at);
+                scratch.set(at.getLatitude() + (r.nextDouble() - 0.5) * 0.02, at.getLongitude() + (r.nextDouble() - 0.5) * 0.02);
+                rider.setCurentLocation(scratch);
+            }
+        });
+    }
+
+    // Jumps far enough to change grid cell, so every ping re-indexes the rider
+    private static void moveEvenRiders(List<Rider> fleet) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        Location scratch = new Location(0, 0);
+        for (int i = 0; i < fleet.size(); i += 2) {
+            Rider rider = fleet.get(i);
+            scratch.set(RiderAssignmentBenchmark.CITY_LAT + (r.nextDouble() - 0.5) * RiderAssignmentBenchmark.CITY_SPAN_DEG,
+                    RiderAssignmentBenchmark.CITY_LON + (r.nextDouble() - 0.5) * RiderAssignmentBenchmark.CITY_SPAN_DEG);
+            rider.setCurentLocation(scratch);
+        }
+    }
+
+    private static Thread start(String name, Runnable body) {
+        Thread thread = new Thread(body, name);
+        thread.start();
+        return thread;
+    }
+}
@@ -0,0 +1,6 @@
+package Projects.ZomatoClone.enums;
+
+public enum DispatchMode {
+    GREEDY, // each order takes the nearest free rider as soon as it is ready
+    BATCH,  // ready orders are pooled for a short window and matched together
+}
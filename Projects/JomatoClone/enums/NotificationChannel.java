@@ -0,0 +1,6 @@
+package Projects.ZomatoClone.enums;
+
+public enum NotificationChannel {
+    SMS,
+    PUSH,
+}
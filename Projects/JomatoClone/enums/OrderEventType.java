@@ -0,0 +1,19 @@
+package Projects.ZomatoClone.enums;
+
+public enum OrderEventType {
+    STATUS_CHANGED,      // from -> to
+    PREPARATION_STARTED,
+    PREPARATION_SCHEDULED, // detail = restaurant, value = predicted wait until the food is ready in ms
+    BATCH_STARTED,       // once per order in the batch; detail = dish, value = portions in the batch
+    FOOD_PREPARED,
+    PREPARATION_FAILED,
+    DELIVERY_STARTED,
+    DELIVERY_REJECTED,   // order is missing restaurant / user details
+    RIDER_SEARCH,
+    RIDER_ASSIGNED,      // detail = rider name, value = batch size (0 for one-by-one dispatch)
+    NO_RIDER_AVAILABLE,
+    RIDER_RETRY_SCHEDULED, // value = wait before the next rider search in ms
+    ETA_ESTIMATED,       // value = rider -> restaurant -> customer ETA in ms
+    ORDER_SPLIT,         // value = number of restaurant sub-orders
+    ORDER_FAILED,        // left the pipeline undelivered; detail = cause, or value = undelivered sub-orders of a split order
+}
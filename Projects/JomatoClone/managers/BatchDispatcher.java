@@ -0,0 +1,199 @@
+package Projects.ZomatoClone.managers;
+
+import Projects.ZomatoClone.enums.OrderEventType;
+import Projects.ZomatoClone.models.Location;
+import Projects.ZomatoClone.models.Order;
+import Projects.ZomatoClone.models.Rider;
+import Projects.ZomatoClone.service.DispatchStats;
+import Projects.ZomatoClone.service.EtaService;
+import Projects.ZomatoClone.service.GeoGridIndex;
+import Projects.ZomatoClone.service.HungarianMatcher;
+import Projects.ZomatoClone.service.OrderEventLog;
+import Projects.ZomatoClone.service.PipelineScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+
+// Pools orders that became READY_FOR_PICKUP during one window and assigns
+// riders to the whole pool with a single min-cost matching, instead of
+// letting each order grab its nearest rider in arrival order.
+class BatchDispatcher {
+    // Nearest riders considered per order; everything else is pruned from the matrix
+    private static final int CANDIDATES_PER_ORDER = 8;
+    // Matching is cubic, so a burst is solved in slices of this many orders
+    private static final int MAX_ORDERS_PER_MATCH = 256;
+
+    private final RiderAssignmentManager riderManager;
+    private final double cutoffKm;
+    private final DispatchStats batchStats;
+    private final ConcurrentLinkedQueue<PendingOrder> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledFuture<?> ticker;
+    private volatile boolean closed;
+
+    BatchDispatcher(RiderAssignmentManager riderManager, long windowMillis, double cutoffKm,
+                    DispatchStats batchStats) {
+        this.riderManager = riderManager;
+        this.cutoffKm = cutoffKm;
+        this.batchStats = batchStats;
+        this.ticker = PipelineScheduler.getInstance().every(windowMillis, this::safeTick);
+    }
+
+    // Rejected once shut down; the caller then dispatches through the current mode
+    CompletableFuture<Rider> submit(Order order) {
+        if (closed) {
+            throw new RejectedExecutionException("batch dispatcher is shut down");
+        }
+        PendingOrder p = new PendingOrder(order);
+        pending.add(p);
+        // Raced with shutdown: take the order back, unless the final drain already has it
+        if (closed && pending.remove(p)) {
+            throw new RejectedExecutionException("batch dispatcher is shut down");
+        }
+        return p.future;
+    }
+
+    // ✅ Stops ticking and matches waiting orders one last time. Orders that still
+    // have no rider are handed to `fallback` (the new mode's path), so no future is left behind.
+    void shutdown(Function<Order, CompletableFuture<Rider>> fallback) {
+        closed = true;
+        ticker.cancel(false);
+        List<PendingOrder> leftovers;
+        synchronized (this) {
+            leftovers = round();
+        }
+        for (PendingOrder p : leftovers) {
+            fallback.apply(p.order).whenComplete((rider, error) -> {
+                if (error != null) {
+                    p.future.completeExceptionally(error);
+                } else {
+                    p.future.complete(rider);
+                }
+            });
+        }
+    }
+
+    private void safeTick() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Batch dispatch tick failed: " + e.getMessage());
+        }
+    }
+
+    // ✅ One dispatch round over everything that arrived since the last tick
+    private synchronized void tick() {
+        // A tick that was already waiting for the lock when shutdown drained the queue
+        if (closed) {
+            return;
+        }
+        pending.addAll(round());
+    }
+
+    // Matches everything waiting; returns the orders that lost this round
+    private List<PendingOrder> round() {
+        List<PendingOrder> retry = new ArrayList<>();
+        List<PendingOrder> batch = new ArrayList<>();
+        for (PendingOrder p; (p = pending.poll()) != null; ) {
+            batch.add(p);
+            if (batch.size() == MAX_ORDERS_PER_MATCH) {
+                matchOrFail(batch, retry);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            matchOrFail(batch, retry);
+        }
+        return retry;
+    }
+
+    // Orders taken off the queue must not be dropped if matching throws
+    private void matchOrFail(List<PendingOrder> batch, List<PendingOrder> retry) {
+        try {
+            match(batch, retry);
+        } catch (RuntimeException e) {
+            for (PendingOrder p : batch) {
+                p.future.completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+
+    // Riders reserved by an earlier slice are no longer available, so slices never clash
+    private void match(List<PendingOrder> batch, List<PendingOrder> retry) {
+        // Candidate riders per order, pruned by the spatial cutoff
+        List<Rider> columns = new ArrayList<>();
+        Map<Rider, Integer> columnOf = new HashMap<>();
+        List<List<GeoGridIndex.Neighbor<Rider>>> candidates = new ArrayList<>(batch.size());
+        for (PendingOrder p : batch) {
+            List<GeoGridIndex.Neighbor<Rider>> near = new ArrayList<>();
+            for (GeoGridIndex.Neighbor<Rider> n : riderManager.findNearestAvailableRiders(p.pickup, CANDIDATES_PER_ORDER)) {
+                if (n.getDistanceKm() > cutoffKm) continue;
+                near.add(n);
+                columnOf.computeIfAbsent(n.getItem(), r -> {
+                    columns.add(r);
+                    return columns.size() - 1;
+                });
+            }
+            candidates.add(near);
+        }
+
+        // Cost is ETA in seconds when ranking by ETA, otherwise pickup distance in km
+        boolean byEta = riderManager.isRankByEta();
+        EtaService eta = EtaService.getInstance();
+        double[][] cost = new double[batch.size()][columns.size()];
+        double[][] distanceKm = new double[batch.size()][columns.size()];
+        Location riderAt = new Location(0, 0);
+        for (int i = 0; i < batch.size(); i++) {
+            Arrays.fill(cost[i], HungarianMatcher.FORBIDDEN);
+            for (GeoGridIndex.Neighbor<Rider> n : candidates.get(i)) {
+                int col = columnOf.get(n.getItem());
+                if (byEta) {
+                    n.getItem().readLocation(riderAt);
+                }
+                cost[i][col] = byEta
+                        ? eta.travelMillis(riderAt, batch.get(i).pickup) / 1000.0
+                        : n.getDistanceKm();
+                distanceKm[i][col] = n.getDistanceKm();
+            }
+        }
+
+        int[] match = HungarianMatcher.solve(cost, batch.size(), columns.size());
+        OrderEventLog events = OrderEventLog.getInstance();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingOrder p = batch.get(i);
+            if (candidates.get(i).isEmpty()) {
+                events.emit(OrderEventType.NO_RIDER_AVAILABLE, p.order.getOrderId());
+                p.future.complete(null);
+                continue;
+            }
+            Rider rider = match[i] >= 0 ? columns.get(match[i]) : null;
+            if (rider != null && rider.tryReserve()) {
+                batchStats.record(distanceKm[i][match[i]]);
+                events.emit(OrderEventType.RIDER_ASSIGNED, p.order.getOrderId(), batch.size(), rider.getRiderName());
+                p.future.complete(rider);
+            } else {
+                // Outbid by another order in this round (or the rider was taken meanwhile): retry next tick
+                retry.add(p);
+            }
+        }
+    }
+
+    private static class PendingOrder {
+        final Order order;
+        final Location pickup;
+        final CompletableFuture<Rider> future = new CompletableFuture<>();
+
+        PendingOrder(Order order) {
+            this.order = order;
+            this.pickup = RiderAssignmentManager.pickupPoint(order);
+        }
+    }
+}
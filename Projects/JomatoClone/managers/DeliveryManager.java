@@ -1,12 +1,28 @@
 // 🚚 DeliveryManager.java
 package Projects.ZomatoClone.managers;
 
+import Projects.ZomatoClone.enums.NotificationChannel;
+import Projects.ZomatoClone.enums.OrderEventType;
 import Projects.ZomatoClone.enums.OrderStatus;
 import Projects.ZomatoClone.models.*;
+import Projects.ZomatoClone.service.EtaService;
 import Projects.ZomatoClone.service.NotificationManager;
-import Projects.ZomatoClone.strategies.SMSNotificationSender;
+import Projects.ZomatoClone.service.OrderEventLog;
+import Projects.ZomatoClone.service.OrderLatencyMetrics;
+import Projects.ZomatoClone.service.PipelineScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class DeliveryManager {
+    // The simulation replays each leg's ETA 120x faster (a 4 minute ride takes 2 s)
+    private static final long TIME_COMPRESSION = 120;
+    private static final long MIN_LEG_DELAY_MS = 200;
+    // No free rider: search again after 250 ms, 500 ms, ... (capped at 4 s), then fail the order
+    private static final int RIDER_SEARCH_ATTEMPTS = 6;
+    private static final long RIDER_RETRY_INITIAL_MS = 250;
+    private static final long RIDER_RETRY_MAX_MS = 4000;
 
     private static final DeliveryManager instance = new DeliveryManager();
 
@@ -17,43 +33,219 @@ public class DeliveryManager {
         return instance;
     }
 
-    public void startDelivery(Order order) {
+    // ✅ Completes once the order is delivered. Fails if no rider could be found after
+    // every retry, so the caller (and the admission controller) sees the order fail.
+    public CompletableFuture<Void> startDelivery(Order order) {
         if (order == null || order.getRestaurant() == null) {
-            System.out.println("❌ Delivery assignment failed: Incomplete order information.");
-            return;
+            OrderEventLog.getInstance().emit(OrderEventType.DELIVERY_REJECTED, order == null ? 0 : order.getOrderId());
+            return CompletableFuture.completedFuture(null);
         }
-        System.out.println("🚚 DeliveryManager managing delivery for Order#" + order.getOrderId());
-
-        Rider rider = RiderAssignmentManager.getInstance().assignRider(order); // get assigned manager
+        OrderEventLog.getInstance().emit(OrderEventType.DELIVERY_STARTED, order.getOrderId());
 
-        if (rider == null) {
-            return;
+        // Sub-orders sharing a rider wait for the rest of their group to be ready
+        PickupGroup group = order.getPickupGroup();
+        if (group != null) {
+            if (group.markReady()) {
+                startGroupDelivery(group).whenComplete((v, error) -> {
+                    if (error != null) {
+                        group.fail(error);
+                    } else {
+                        group.getDelivered().complete(null);
+                    }
+                });
+            }
+            return group.getDelivered();
         }
 
+        // get assigned rider (immediately in GREEDY mode, at the next dispatch tick in BATCH mode)
+        long requestedAt = System.nanoTime();
+        return requestRider(order)
+                .thenCompose(rider -> {
+                    OrderLatencyMetrics.getInstance().recordRiderAssignment(order, System.nanoTime() - requestedAt);
+                    return dispatch(order, rider);
+                });
+    }
+
+    // ✅ Reserved rider, or a failed future once every attempt came back empty.
+    // Waiting is a timer, so a backed-off order holds no thread.
+    private CompletableFuture<Rider> requestRider(Order order) {
+        return requestRider(order, 1, RIDER_RETRY_INITIAL_MS);
+    }
+
+    private CompletableFuture<Rider> requestRider(Order order, int attempt, long backoffMillis) {
+        return RiderAssignmentManager.getInstance().requestRider(order)
+                .thenCompose(rider -> {
+                    if (rider != null) {
+                        return CompletableFuture.completedFuture(rider);
+                    }
+                    if (attempt >= RIDER_SEARCH_ATTEMPTS) {
+                        return CompletableFuture.failedFuture(new IllegalStateException(
+                                "no rider available after " + attempt + " attempts"));
+                    }
+                    OrderEventLog.getInstance().emit(OrderEventType.RIDER_RETRY_SCHEDULED, order.getOrderId(), backoffMillis, null);
+                    return PipelineScheduler.getInstance().delay(backoffMillis)
+                            .thenCompose(v -> requestRider(order, attempt + 1, Math.min(RIDER_RETRY_MAX_MS, backoffMillis * 2)));
+                });
+    }
+
+    private CompletableFuture<Void> dispatch(Order order, Rider rider) {
         // create delivery metadata
         DeliveryMetaData meta = new DeliveryMetaData();
         meta.setAssignedRider(rider);
         meta.setPickupLocation(order.getRestaurant().getLocation());
         meta.setDropLocation(order.getUser().getLocation());
+        meta.setRiderStartLocation(rider.getCurentLocation());
+
+        // ETA per leg, two zone-matrix lookups
+        EtaService eta = EtaService.getInstance();
+        meta.setPickupEtaMillis(eta.travelMillis(meta.getRiderStartLocation(), meta.getPickupLocation()));
+        meta.setDropEtaMillis(eta.travelMillis(meta.getPickupLocation(), meta.getDropLocation()));
+        meta.setAssignedAtMillis(System.currentTimeMillis());
         order.setDeliveryMetaData(meta);
+        OrderEventLog.getInstance().emit(OrderEventType.ETA_ESTIMATED, order.getOrderId(), meta.getDeliveryEtaMillis(), null);
 
         OrderManager.getInstance().updateOrderStatus(order, OrderStatus.ASSIGNED_TO_DELIVERY);
-        NotificationManager.getInstance().notifyUser(order.getUser().getName(), "Your order is out for delivery with " + rider.getRiderName(), new SMSNotificationSender());
-        simulateDelivery(order);
+        notifyCustomer(order, "Your order is out for delivery with " + rider.getRiderName());
+        return simulateDelivery(order);
     }
 
-    private void simulateDelivery(Order order) {
+    // Each leg is a timer callback, so no thread is parked while the rider travels
+    private CompletableFuture<Void> simulateDelivery(Order order) {
         OrderManager orderMgr = OrderManager.getInstance();
-        try {
-            Thread.sleep(2000);
+        PipelineScheduler scheduler = PipelineScheduler.getInstance();
+        DeliveryMetaData meta = order.getDeliveryMetaData();
+
+        return scheduler.delay(simulatedDelay(meta.getPickupEtaMillis()))
+                .thenRun(() -> {
+                    meta.setPickedUpAtMillis(System.currentTimeMillis());
+                    orderMgr.updateOrderStatus(order, OrderStatus.PICKED_UP);
+                    notifyCustomer(order, "Your order has been picked up by the rider.");
+                })
+                .thenCompose(v -> scheduler.delay(simulatedDelay(meta.getDropEtaMillis())))
+                .thenRun(() -> {
+                    orderMgr.onOrderDelivered(order);
+                    recordLegs(meta, System.currentTimeMillis());
+
+                    // Rider is free again, starting from the customer's doorstep
+                    RiderAssignmentManager.getInstance().releaseRider(meta.getAssignRider(), meta.getDropLocation());
+                });
+    }
+
+    // ✅ One rider collects every order in the group, then delivers them together
+    private CompletableFuture<Void> startGroupDelivery(PickupGroup group) {
+        List<Order> orders = group.getOrders();
+        long requestedAt = System.nanoTime();
+        return requestRider(orders.get(0))
+                .thenCompose(rider -> {
+                    long waited = System.nanoTime() - requestedAt;
+                    for (Order order : orders) {
+                        OrderLatencyMetrics.getInstance().recordRiderAssignment(order, waited);
+                    }
+                    return dispatchGroup(orders, rider);
+                });
+    }
 
-            orderMgr.updateOrderStatus(order, OrderStatus.PICKED_UP);
-            NotificationManager.getInstance().notifyUser(order.getUser().getName(), "Your order has been picked up by the rider.", new SMSNotificationSender());
-            Thread.sleep(3000);
+    private CompletableFuture<Void> dispatchGroup(List<Order> orders, Rider rider) {
+        Location start = rider.getCurentLocation();
+        Location drop = orders.get(0).getUser().getLocation();
 
-            orderMgr.onOrderDelivered(order);
-        } catch (InterruptedException e) {
-            System.out.println("⚠️ Delivery interrupted: " + e.getMessage());
+        // Visit the restaurants nearest-first (by ETA), then head to the customer
+        EtaService eta = EtaService.getInstance();
+        List<Order> route = new ArrayList<>(orders);
+        List<Location> stops = new ArrayList<>();
+        List<Long> legEtaMillis = new ArrayList<>();
+        Location from = start;
+        for (int i = 0; i < route.size(); i++) {
+            int next = i;
+            for (int j = i + 1; j < route.size(); j++) {
+                if (eta.travelMillis(from, route.get(j).getRestaurant().getLocation())
+                        < eta.travelMillis(from, route.get(next).getRestaurant().getLocation())) {
+                    next = j;
+                }
+            }
+            route.add(i, route.remove(next));
+            Location pickup = route.get(i).getRestaurant().getLocation();
+            legEtaMillis.add(eta.travelMillis(from, pickup));
+            stops.add(pickup);
+            from = pickup;
         }
+        legEtaMillis.add(eta.travelMillis(from, drop));
+        stops.add(drop);
+
+        long totalEtaMillis = 0;
+        for (long leg : legEtaMillis) {
+            totalEtaMillis += leg;
+        }
+        long assignedAt = System.currentTimeMillis();
+        long untilPickup = 0;
+        for (int i = 0; i < route.size(); i++) {
+            Order order = route.get(i);
+            untilPickup += legEtaMillis.get(i);
+            DeliveryMetaData meta = new DeliveryMetaData();
+            meta.setAssignedRider(rider);
+            meta.setPickupLocation(order.getRestaurant().getLocation());
+            meta.setDropLocation(drop);
+            meta.setRiderStartLocation(start);
+            meta.setPickupEtaMillis(untilPickup);
+            meta.setDropEtaMillis(totalEtaMillis - untilPickup);
+            meta.setAssignedAtMillis(assignedAt);
+            order.setDeliveryMetaData(meta);
+            OrderEventLog.getInstance().emit(OrderEventType.ETA_ESTIMATED, order.getOrderId(), meta.getDeliveryEtaMillis(), null);
+            OrderManager.getInstance().updateOrderStatus(order, OrderStatus.ASSIGNED_TO_DELIVERY);
+        }
+        notifyCustomer(route.get(0), "Your order is out for delivery with " + rider.getRiderName() + " (" + route.size() + " pickups)");
+        return simulateGroupDelivery(route, rider, start, stops, legEtaMillis);
+    }
+
+    // One timer per leg: pickups in route order, then the drop for everyone
+    private CompletableFuture<Void> simulateGroupDelivery(List<Order> route, Rider rider, Location start,
+                                                          List<Location> stops, List<Long> legEtaMillis) {
+        OrderManager orderMgr = OrderManager.getInstance();
+        PipelineScheduler scheduler = PipelineScheduler.getInstance();
+        EtaService eta = EtaService.getInstance();
+        long[] legStartedAt = {System.currentTimeMillis()};
+
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (int i = 0; i <= route.size(); i++) {
+            int leg = i;
+            Location from = leg == 0 ? start : stops.get(leg - 1);
+            chain = chain
+                    .thenCompose(v -> scheduler.delay(simulatedDelay(legEtaMillis.get(leg))))
+                    .thenRun(() -> {
+                        long now = System.currentTimeMillis();
+                        eta.recordTrip(from, stops.get(leg), (now - legStartedAt[0]) * TIME_COMPRESSION);
+                        legStartedAt[0] = now;
+                        if (leg < route.size()) {
+                            Order order = route.get(leg);
+                            order.getDeliveryMetaData().setPickedUpAtMillis(now);
+                            orderMgr.updateOrderStatus(order, OrderStatus.PICKED_UP);
+                        } else {
+                            for (Order order : route) {
+                                orderMgr.onOrderDelivered(order);
+                            }
+                            RiderAssignmentManager.getInstance().releaseRider(rider, stops.get(leg));
+                        }
+                    });
+        }
+        return chain;
+    }
+
+    // ✅ Completed legs refine the ETA matrix (actual durations scaled back to real time)
+    private void recordLegs(DeliveryMetaData meta, long deliveredAt) {
+        EtaService eta = EtaService.getInstance();
+        eta.recordTrip(meta.getRiderStartLocation(), meta.getPickupLocation(),
+                (meta.getPickedUpAtMillis() - meta.getAssignedAtMillis()) * TIME_COMPRESSION);
+        eta.recordTrip(meta.getPickupLocation(), meta.getDropLocation(),
+                (deliveredAt - meta.getPickedUpAtMillis()) * TIME_COMPRESSION);
+    }
+
+    // Sub-order updates coalesce under the order the customer placed
+    private static void notifyCustomer(Order order, String message) {
+        Order shown = order.getParentOrder() != null ? order.getParentOrder() : order;
+        NotificationManager.getInstance().notifyOrderUpdate(shown.getOrderId(), order.getUser().getName(), message, NotificationChannel.SMS);
+    }
+
+    private static long simulatedDelay(long etaMillis) {
+        return Math.max(MIN_LEG_DELAY_MS, etaMillis / TIME_COMPRESSION);
     }
 }
@@ -1,8 +1,12 @@
 package Projects.ZomatoClone.managers;
 
+import Projects.ZomatoClone.enums.OrderEventType;
 import Projects.ZomatoClone.enums.OrderStatus;
 import Projects.ZomatoClone.models.Order;
 import Projects.ZomatoClone.models.Restaurant;
+import Projects.ZomatoClone.service.OrderEventLog;
+
+import java.util.concurrent.CompletableFuture;
 
 public class FoodManager {
 
@@ -20,24 +24,27 @@ public class FoodManager {
     }
 
 
-    public void prepareFood(Order order) {
-        System.out.println("👨‍🍳 FoodManager started preparing food for Order#" + order.getOrderId());
+    // ✅ Completes when the rest of the pipeline (delivery included) has finished
+    public CompletableFuture<Void> prepareFood(Order order) {
+        OrderEventLog events = OrderEventLog.getInstance();
+        events.emit(OrderEventType.PREPARATION_STARTED, order.getOrderId());
         OrderManager.getInstance().updateOrderStatus(order, OrderStatus.PREPARING);
 
         Restaurant restaurant = order.getRestaurant();
 
         // Simulate food preparation
-        boolean isPrepared = restaurant.foodPrepareComplete(order, order.getItems());
-
-        if (isPrepared) {
-            System.out.println("✅ Food prepared for Order #" + order.getOrderId());
-            OrderManager.getInstance().updateOrderStatus(order, OrderStatus.READY_FOR_PICKUP);
-
-            // 🔁 Call back to OrderManager to trigger delivery
-            OrderManager.getInstance().onFoodPrepared(order);
-        } else {
-            System.out.println("❌ Food preparation failed for Order #" + order.getOrderId());
-        }
+        return restaurant.foodPrepareComplete(order, order.getItems())
+                .thenCompose(isPrepared -> {
+                    if (!isPrepared) {
+                        events.emit(OrderEventType.PREPARATION_FAILED, order.getOrderId());
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    events.emit(OrderEventType.FOOD_PREPARED, order.getOrderId());
+                    OrderManager.getInstance().updateOrderStatus(order, OrderStatus.READY_FOR_PICKUP);
+
+                    // 🔁 Call back to OrderManager to trigger delivery
+                    return OrderManager.getInstance().onFoodPrepared(order);
+                });
     }
 
 }
@@ -1,15 +1,41 @@
 package Projects.ZomatoClone.managers;
 
 import Projects.ZomatoClone.models.*;
+import Projects.ZomatoClone.enums.NotificationChannel;
+import Projects.ZomatoClone.enums.OrderEventType;
 import Projects.ZomatoClone.enums.OrderStatus;
+import Projects.ZomatoClone.service.AdmissionController;
 import Projects.ZomatoClone.service.NotificationManager;
-import Projects.ZomatoClone.strategies.SMSNotificationSender;
+import Projects.ZomatoClone.service.OrderEventLog;
+import Projects.ZomatoClone.service.OrderJournal;
+import Projects.ZomatoClone.service.OrderLatencyMetrics;
+import Projects.ZomatoClone.service.OrderStore;
+import Projects.ZomatoClone.strategies.HaversineDistanceStrategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class OrderManager {
+    // Sub-orders whose restaurants are this close to the group's first restaurant share one rider
+    private static final double PICKUP_GROUP_RADIUS_KM = 2.0;
 
     private static volatile OrderManager instance;
 
+    // Orders in the pipeline, indexed by status / restaurant / rider; finished ones are kept by id only
+    private final OrderStore orderStore = new OrderStore();
+    private final OrderEventLog events = OrderEventLog.getInstance();
+    private final OrderLatencyMetrics latency = OrderLatencyMetrics.getInstance();
+
+    // Write-ahead log of order events; only enabled with -Dzomato.wal.dir=<directory>
+    private final OrderJournal journal;
+
     private OrderManager() {
+        this.journal = openJournal(System.getProperty("zomato.wal.dir"));
     }
 
     public static OrderManager getInstance() {
@@ -37,52 +63,249 @@ public class OrderManager {
             return null;
         }
 
+        if (cart.isMultiRestaurant()) {
+            return createSplitOrder(user);
+        }
+
         Order order = new Order(user);
         order.setRestaurant(cart.getRestaurant());
+        orderStore.add(order);
+        journal(order);
 
         return order;
     }
 
-    // ✅ Step 2: Process order after payment is done
-    public void processOrder(Order order) {
+    // ✅ Multi-restaurant cart: one parent order (paid once) and one sub-order per restaurant
+    private Order createSplitOrder(User user) {
+        Order parent = new Order(user);
+        parent.setRestaurant(null);
+        for (Cart.Section section : user.getCart().getSections()) {
+            parent.addSubOrder(new Order(parent, section));
+        }
+        groupNearbyPickups(parent.getSubOrders());
+
+        orderStore.add(parent);
+        journal(parent);
+        for (Order subOrder : parent.getSubOrders()) {
+            orderStore.add(subOrder);
+            journal(subOrder);
+        }
+        events.emit(OrderEventType.ORDER_SPLIT, parent.getOrderId(), parent.getSubOrders().size(), null);
+        return parent;
+    }
+
+    // Greedy clustering: each sub-order joins the first group whose first restaurant is within the radius
+    private void groupNearbyPickups(List<Order> subOrders) {
+        HaversineDistanceStrategy distance = new HaversineDistanceStrategy();
+        List<List<Order>> groups = new ArrayList<>();
+        for (Order subOrder : subOrders) {
+            Location at = subOrder.getRestaurant().getLocation();
+            List<Order> joined = null;
+            for (List<Order> group : groups) {
+                if (distance.calculateDistance(group.get(0).getRestaurant().getLocation(), at) <= PICKUP_GROUP_RADIUS_KM) {
+                    joined = group;
+                    break;
+                }
+            }
+            if (joined == null) {
+                joined = new ArrayList<>();
+                groups.add(joined);
+            }
+            joined.add(subOrder);
+        }
+        for (List<Order> group : groups) {
+            if (group.size() > 1) {
+                PickupGroup pickupGroup = new PickupGroup(group);
+                for (Order subOrder : group) {
+                    subOrder.setPickupGroup(pickupGroup);
+                }
+            }
+        }
+    }
+
+    // ✅ Step 2: Process order after payment is done.
+    // Returns immediately; the future completes when the order leaves the pipeline.
+    public CompletableFuture<Order> processOrder(Order order) {
         if (order == null) {
             System.out.println("⚠️ Cannot process null order.");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
-        System.out.println("🍽️ Starting food preparation...");
-        FoodManager.getInstance().prepareFood(order);
+        // Split order: every restaurant cooks its part at the same time
+        if (order.hasSubOrders()) {
+            CompletableFuture<?>[] parts = order.getSubOrders().stream()
+                    .map(this::processOrder)
+                    .toArray(CompletableFuture[]::new);
+            // Sub-order futures never fail; their outcome is in their status
+            return CompletableFuture.allOf(parts).handle((v, error) -> {
+                int undelivered = 0;
+                for (Order subOrder : order.getSubOrders()) {
+                    if (subOrder.getOrderStatus() != OrderStatus.DELIVERED) {
+                        undelivered++;
+                    }
+                }
+                if (error != null || undelivered > 0) {
+                    events.emit(OrderEventType.ORDER_FAILED, order.getOrderId(), undelivered, null);
+                    closeOrder(order);
+                }
+                return order;
+            });
+        }
+
+        return FoodManager.getInstance().prepareFood(order)
+                .handle((v, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        events.emit(OrderEventType.ORDER_FAILED, order.getOrderId(), 0, cause.getMessage());
+                    }
+                    // Delivered orders already left the indexes; anything else (rider search gave up,
+                    // food not prepared, delivery rejected) is closed here
+                    boolean delivered = error == null && order.getOrderStatus() == OrderStatus.DELIVERED;
+                    if (!delivered) {
+                        closeOrder(order);
+                        // Group members wait for each other; one that fails must not leave the rest waiting
+                        PickupGroup group = order.getPickupGroup();
+                        if (group != null) {
+                            group.fail(new IllegalStateException("order #" + order.getOrderId() + " in the pickup group was not delivered"));
+                        }
+                    }
+                    // Frees the order's admission slot; slow or failed orders shrink the limits
+                    AdmissionController.getInstance().complete(order, delivered);
+                    return order;
+                });
     }
 
     // ✅ Called by FoodManager when food is ready
-    public void onFoodPrepared(Order order) {
+    public CompletableFuture<Void> onFoodPrepared(Order order) {
         sendNotification(order, "🥗 Food prepared. Out for delivery soon!\"");
 
         // ✅ Step 3: Delegate to DeliveryManager
-        DeliveryManager.getInstance().startDelivery(order);
+        return DeliveryManager.getInstance().startDelivery(order);
     }
 
     // ✅ Called by DeliveryManager when order is delivered
     public void onOrderDelivered(Order order) {
         updateOrderStatus(order, OrderStatus.DELIVERED);;
+        Order parent = order.getParentOrder();
+        if (parent != null && parent.getOrderStatus() != OrderStatus.DELIVERED) {
+            sendNotification(order, "📦 Your items from " + order.getRestaurant().getName() + " have been delivered.");
+            return;
+        }
         sendNotification(order, "🎊 Your order has been delivered. Enjoy your meal!");
     }
 
-    // ✅ Common status updater
+    // ✅ Common status updater (also keeps the order store indexes in step)
     public void updateOrderStatus(Order order, OrderStatus newStatus) {
-        OrderStatus oldStatus = order.getOrderStatus();
-        order.setOrderStatus(newStatus);
+        OrderStatus oldStatus = orderStore.updateStatus(order, newStatus);
+        long now = System.nanoTime();
+        latency.recordTransition(order, oldStatus, newStatus, now - order.getStatusChangedAtNanos());
+        order.setStatusChangedAtNanos(now);
+        journal(order);
+        events.statusChanged(order.getOrderId(), oldStatus, newStatus);
+
+        if (order.getParentOrder() != null) {
+            rollUpStatus(order.getParentOrder());
+        }
+        if (newStatus == OrderStatus.DELIVERED) {
+            orderStore.complete(order.getOrderId());
+        }
+    }
 
-        System.out.println("📦 Order #" + order.getOrderId() + " status: " + oldStatus + " → " + newStatus);
+    // ✅ Order left the pipeline without being delivered (cancelled, or failed):
+    // it leaves the active indexes, and its sub-orders with it
+    public void closeOrder(Order order) {
+        for (Order subOrder : order.getSubOrders()) {
+            orderStore.complete(subOrder.getOrderId());
+        }
+        orderStore.complete(order.getOrderId());
+    }
+
+    // A parent order is as far along as its least advanced sub-order
+    private void rollUpStatus(Order parent) {
+        synchronized (parent) {
+            OrderStatus slowest = OrderStatus.DELIVERED;
+            for (Order subOrder : parent.getSubOrders()) {
+                if (subOrder.getOrderStatus().compareTo(slowest) < 0) {
+                    slowest = subOrder.getOrderStatus();
+                }
+            }
+            if (slowest == parent.getOrderStatus()) {
+                return;
+            }
+            // Not fed to the latency metrics: the sub-orders already carry the per-restaurant timings
+            OrderStatus oldStatus = orderStore.updateStatus(parent, slowest);
+            parent.setStatusChangedAtNanos(System.nanoTime());
+            journal(parent);
+            events.statusChanged(parent.getOrderId(), oldStatus, slowest);
+            if (slowest == OrderStatus.DELIVERED) {
+                orderStore.complete(parent.getOrderId());
+            }
+        }
+    }
+
+    // ✅ Order lookups, each O(number of matching orders). The index lookups cover
+    // orders still in the pipeline; delivered or closed orders are found by id only.
+    public Order getOrder(long orderId) {
+        return orderStore.get(orderId);
+    }
+
+    public List<Order> getOrdersByStatus(OrderStatus status) {
+        return orderStore.findByStatus(status);
+    }
+
+    public List<Order> getOrdersByRestaurant(long restaurantId) {
+        return orderStore.findByRestaurant(restaurantId);
+    }
 
+    public List<Order> getOrdersByRestaurantAndStatus(long restaurantId, OrderStatus status) {
+        return orderStore.findByRestaurantAndStatus(restaurantId, status);
+    }
+
+    public List<Order> getOrdersByRider(long riderId) {
+        return orderStore.findByRider(riderId);
+    }
+
+    // Status as last written to the journal, also for orders placed before a restart
+    // (delivered orders are dropped from the journal once a snapshot covers them)
+    public OrderStatus getJournaledStatus(long orderId) {
+        return journal == null ? null : journal.lastStatus(orderId);
+    }
+
+    private static OrderJournal openJournal(String dir) {
+        if (dir == null) {
+            return null;
+        }
+        try {
+            OrderJournal opened = OrderJournal.open(Paths.get(dir));
+            System.out.println("♻️ " + opened.recoverySummary());
+            return opened;
+        } catch (IOException e) {
+            System.out.println("⚠️ Order journal disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Group commit makes this a memory write; it reaches disk within a few ms
+    private void journal(Order order) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.append(order);
+        } catch (UncheckedIOException | IllegalStateException e) {
+            // IllegalStateException: the journal was closed by the shutdown hook while orders were still moving
+            System.out.println("⚠️ Could not journal order #" + order.getOrderId() + ": " + e.getMessage());
+        }
     }
 
-    // ✅ Wrapper for sending notifications
+    // ✅ Wrapper for sending notifications (sub-order updates coalesce under the parent order)
     private void sendNotification(Order order, String message) {
-        NotificationManager.getInstance().notifyUser(
+        Order shown = order.getParentOrder() != null ? order.getParentOrder() : order;
+        NotificationManager.getInstance().notifyOrderUpdate(
+                shown.getOrderId(),
                 order.getUser().getName(),
                 message,
-                new SMSNotificationSender()
+                NotificationChannel.SMS
         );
     }
 }
@@ -1,17 +1,40 @@
 package Projects.ZomatoClone.managers;
 
+import Projects.ZomatoClone.models.Dish;
+import Projects.ZomatoClone.models.Location;
 import Projects.ZomatoClone.models.Restaurant;
+import Projects.ZomatoClone.service.DistanceStrategy;
+import Projects.ZomatoClone.service.GeoGridIndex;
+import Projects.ZomatoClone.service.KitchenScheduler;
+import Projects.ZomatoClone.strategies.EquirectangularDistanceStrategy;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class RestaurantManager {
     // singleton instance
     private static volatile RestaurantManager instance;
 
+    // Restaurants per 2 km cell, for "near me" queries
+    private static final double GRID_CELL_SIZE_KM = 2.0;
+    // Below this many term matches it is cheaper to walk the postings than the grid
+    private static final int SMALL_POSTING_LIST = 256;
+
     // Thread-safe restaurant manager
     private final Map<String, Restaurant> restaurants;
 
+    // Search indexes, maintained incrementally by createRestaurant, the menu edits below
+    // and moveRestaurant; a registered restaurant's menu and location must change through them
+    private final GeoGridIndex<Restaurant> restaurantGrid = new GeoGridIndex<>(GRID_CELL_SIZE_KM);
+    private final Map<String, Set<Restaurant>> restaurantsByDishToken = new ConcurrentHashMap<>();
+    private volatile DistanceStrategy distanceStrategy = new EquirectangularDistanceStrategy(50.0);
+
     // private constructor to prevent instantiation
     private RestaurantManager() {
         this.restaurants = new ConcurrentHashMap<>();
@@ -31,7 +54,15 @@ public class RestaurantManager {
 
     // Register a restaurant
     public void createRestaurant(Restaurant restaurant) {
-        restaurants.put(restaurant.getName(), restaurant);
+        Restaurant previous = restaurants.put(restaurant.getName(), restaurant);
+        if (previous != null && previous != restaurant) {
+            unindexRestaurant(previous);
+        }
+        Location location = restaurant.getLocation();
+        restaurantGrid.put(restaurant, location.getLatitude(), location.getLongitude());
+        for (Dish dish : restaurant.getMenuItem()) {
+            indexDish(restaurant, dish);
+        }
     }
 
     // Get restaurant by name
@@ -39,7 +70,7 @@ public class RestaurantManager {
         return restaurants.get(name);
     }
 
-    // Check if a restaurant is open
+    // Check if a restaurant is open and its kitchen is not already too far behind
     public boolean canAcceptOrder(Restaurant restaurant) {
         System.out.println("🔍 RestaurantManager checking if restaurant " + restaurant.getName() + " can accept the order...");
 
@@ -47,7 +78,180 @@ public class RestaurantManager {
             System.out.println("🚫 Restaurant " + restaurant.getName() + " is currently closed.");
             return false;
         }
-        return restaurant.isOpen();
+
+        KitchenScheduler kitchen = restaurant.getKitchen();
+        long backlog = kitchen.predictedBacklogMillis();
+        if (backlog > kitchen.getMaxBacklogMillis()) {
+            System.out.printf("🔥 Kitchen at %s is %.1f s behind (limit %.1f s); not taking new orders.%n",
+                    restaurant.getName(), backlog / 1000.0, kitchen.getMaxBacklogMillis() / 1000.0);
+            return false;
+        }
+        return true;
+    }
+
+    // Add a dish to a restaurant's menu and to the dish search index
+    public void addMenuItem(Restaurant restaurant, Dish dish) {
+        synchronized (restaurant) {
+            restaurant.addMenuItem(dish);
+            indexDish(restaurant, dish);
+        }
+    }
+
+    // Remove a dish; its words leave the index unless another dish still uses them
+    public void removeMenuItem(Restaurant restaurant, Dish dish) {
+        synchronized (restaurant) {
+            List<Dish> before = restaurant.getMenuItem();
+            restaurant.removeMenuItem(dish);
+            reindexMenu(restaurant, before);
+        }
+    }
+
+    // Replace the whole menu
+    public void setMenuItems(Restaurant restaurant, List<Dish> dishes) {
+        synchronized (restaurant) {
+            List<Dish> before = restaurant.getMenuItem();
+            restaurant.setMenuItems(dishes);
+            reindexMenu(restaurant, before);
+        }
+    }
+
+    // Move a restaurant and its entry in the "near me" grid together
+    public void moveRestaurant(Restaurant restaurant, Location location) {
+        synchronized (restaurant) {
+            restaurant.setLocation(location);
+            if (restaurants.get(restaurant.getName()) == restaurant) {
+                restaurantGrid.put(restaurant, location.getLatitude(), location.getLongitude());
+            }
+        }
+    }
+
+    public void setDistanceStrategy(DistanceStrategy strategy) {
+        this.distanceStrategy = strategy;
+    }
+
+    // ✅ Open restaurants within radiusKm of location with a dish whose name contains every word
+    // of term, nearest first. A blank term matches every open restaurant in range.
+    public List<Restaurant> searchRestaurants(Location location, double radiusKm, String term) {
+        List<String> tokens = tokenize(term);
+        DistanceStrategy distance = distanceStrategy;
+
+        List<Restaurant> result = new ArrayList<>();
+        if (tokens.isEmpty()) {
+            for (GeoGridIndex.Neighbor<Restaurant> n : restaurantGrid.within(location, radiusKm,
+                    Restaurant::isOpen, r -> distance.calculateDistance(r.getLocation(), location))) {
+                result.add(n.getItem());
+            }
+            return result;
+        }
+
+        // Posting list per word; the rarest one drives the query. Postings are per restaurant,
+        // so a restaurant in all of them is only a candidate until one of its dishes has every word
+        List<Set<Restaurant>> postings = new ArrayList<>(tokens.size());
+        Set<Restaurant> rarest = null;
+        for (String token : tokens) {
+            Set<Restaurant> posting = restaurantsByDishToken.get(token);
+            if (posting == null) {
+                return Collections.emptyList();
+            }
+            postings.add(posting);
+            if (rarest == null || posting.size() < rarest.size()) {
+                rarest = posting;
+            }
+        }
+
+        if (rarest.size() < SMALL_POSTING_LIST) {
+            // Few restaurants serve this: check each one's distance directly
+            List<GeoGridIndex.Neighbor<Restaurant>> hits = new ArrayList<>();
+            for (Restaurant r : rarest) {
+                if (!r.isOpen() || !matches(r, postings, tokens)) continue;
+                double d = distance.calculateDistance(r.getLocation(), location);
+                if (d <= radiusKm) {
+                    hits.add(new GeoGridIndex.Neighbor<>(r, d));
+                }
+            }
+            hits.sort((a, b) -> Double.compare(a.getDistanceKm(), b.getDistanceKm()));
+            for (GeoGridIndex.Neighbor<Restaurant> n : hits) {
+                result.add(n.getItem());
+            }
+            return result;
+        }
+
+        // Popular term: walk the nearby cells and keep the restaurants that serve it
+        for (GeoGridIndex.Neighbor<Restaurant> n : restaurantGrid.within(location, radiusKm,
+                r -> r.isOpen() && matches(r, postings, tokens),
+                r -> distance.calculateDistance(r.getLocation(), location))) {
+            result.add(n.getItem());
+        }
+        return result;
+    }
+
+    private void indexDish(Restaurant restaurant, Dish dish) {
+        for (String token : tokenize(dish.getName())) {
+            restaurantsByDishToken.computeIfAbsent(token, k -> ConcurrentHashMap.newKeySet()).add(restaurant);
+        }
+    }
+
+    // Drops the words only the removed dishes had, then indexes the current menu
+    private void reindexMenu(Restaurant restaurant, List<Dish> before) {
+        List<Dish> after = restaurant.getMenuItem();
+        Set<String> remaining = new HashSet<>();
+        for (Dish dish : after) {
+            remaining.addAll(tokenize(dish.getName()));
+        }
+        for (Dish dish : before) {
+            for (String token : tokenize(dish.getName())) {
+                Set<Restaurant> posting = restaurantsByDishToken.get(token);
+                if (posting != null && !remaining.contains(token)) {
+                    posting.remove(restaurant);
+                }
+            }
+        }
+        for (Dish dish : after) {
+            indexDish(restaurant, dish);
+        }
+    }
+
+    private void unindexRestaurant(Restaurant restaurant) {
+        restaurantGrid.remove(restaurant);
+        for (Dish dish : restaurant.getMenuItem()) {
+            for (String token : tokenize(dish.getName())) {
+                Set<Restaurant> posting = restaurantsByDishToken.get(token);
+                if (posting != null) {
+                    posting.remove(restaurant);
+                }
+            }
+        }
+    }
+
+    // Cheap posting check first, then the menu itself for one dish holding every word
+    private static boolean matches(Restaurant restaurant, List<Set<Restaurant>> postings, List<String> tokens) {
+        for (Set<Restaurant> posting : postings) {
+            if (!posting.contains(restaurant)) {
+                return false;
+            }
+        }
+        if (tokens.size() == 1) {
+            return true;
+        }
+        for (Dish dish : restaurant.getMenuItem()) {
+            if (tokenize(dish.getName()).containsAll(tokens)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
     }
 
     // Optional: print all registered restaurants
@@ -1,59 +1,271 @@
 package Projects.ZomatoClone.managers;
 
-import Projects.ZomatoClone.enums.OrderStatus;
+import Projects.ZomatoClone.enums.DispatchMode;
+import Projects.ZomatoClone.enums.OrderEventType;
+import Projects.ZomatoClone.models.Location;
 import Projects.ZomatoClone.models.Order;
 import Projects.ZomatoClone.models.Rider;
+import Projects.ZomatoClone.service.DispatchStats;
 import Projects.ZomatoClone.service.DistanceStrategy;
-import java.util.ArrayList;
+import Projects.ZomatoClone.service.EtaService;
+import Projects.ZomatoClone.service.GeoGridIndex;
+import Projects.ZomatoClone.service.OrderEventLog;
+import Projects.ZomatoClone.service.RiderStateListener;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+public class RiderAssignmentManager implements RiderStateListener {
+    // 1 km cells: a city-sized fleet spreads over a few hundred cells
+    private static final double GRID_CELL_SIZE_KM = 1.0;
+    // Candidates fetched per query; losing a CAS race falls through to the next one
+    private static final int RESERVATION_CANDIDATES = 4;
+    // Nearest-by-distance riders re-ranked by ETA; a rider further away may be quicker
+    private static final int ETA_CANDIDATES = 8;
+    // Where syncRider copies a rider's location; it runs on every GPS ping, so it should not allocate
+    private static final ThreadLocal<Location> SYNC_SCRATCH = ThreadLocal.withInitial(() -> new Location(0, 0));
+
+    private static volatile RiderAssignmentManager instance;
+    private final Map<Long, Rider> riders = new ConcurrentHashMap<>();
+    // Only riders that are currently available are kept in the grid
+    private final GeoGridIndex<Rider> availableRiders = new GeoGridIndex<>(GRID_CELL_SIZE_KM);
+    private volatile DistanceStrategy distanceStrategy;
+    private volatile double maxSearchRadiusKm = Double.MAX_VALUE;
+    private volatile boolean rankByEta = true;
+    // Built once per configuration change so logging a search concatenates nothing
+    private volatile String searchLabel = "";
 
-public class RiderAssignmentManager {
-    private static RiderAssignmentManager instance;
-    private final List<Rider> riders = new ArrayList<>();
-    private DistanceStrategy distanceStrategy;
+    private volatile DispatchMode dispatchMode = DispatchMode.GREEDY;
+    private volatile BatchDispatcher batchDispatcher;
+    private final DispatchStats greedyStats = new DispatchStats("GREEDY");
+    private final DispatchStats batchStats = new DispatchStats("BATCH");
 
     private RiderAssignmentManager() {}
 
     public static RiderAssignmentManager getInstance() {
         if (instance == null) {
-            instance = new RiderAssignmentManager();
+            synchronized (RiderAssignmentManager.class) {
+                if (instance == null) {
+                    instance = new RiderAssignmentManager();
+                }
+            }
         }
         return instance;
     }
 
     public void setRiders(List<Rider> riders) {
+        for (Rider rider : this.riders.values()) {
+            rider.setStateListener(null);
+        }
         this.riders.clear();
-        this.riders.addAll(riders);
+        availableRiders.clear();
+        for (Rider rider : riders) {
+            addRider(rider);
+        }
+    }
+
+    public void addRider(Rider rider) {
+        riders.put(rider.getRiderId(), rider);
+        rider.setStateListener(this);
+        syncRider(rider);
+    }
+
+    public void removeRider(Rider rider) {
+        riders.remove(rider.getRiderId());
+        rider.setStateListener(null);
+        availableRiders.remove(rider);
+    }
+
+    public Rider getRider(long riderId) {
+        return riders.get(riderId);
+    }
+
+    // True while the rider is in the available-rider grid; for consistency checks
+    public boolean isIndexed(Rider rider) {
+        return availableRiders.contains(rider);
     }
 
     public void setDistanceStrategy(DistanceStrategy strategy) {
         this.distanceStrategy = strategy;
+        updateSearchLabel();
     }
 
-    public Rider assignRider(Order order) {
-        Rider bestRider = null;
-        double minDistance = Double.MAX_VALUE;
+    // Riders further than this from the order are never considered
+    public void setMaxSearchRadiusKm(double maxSearchRadiusKm) {
+        this.maxSearchRadiusKm = maxSearchRadiusKm;
+    }
 
-        System.out.println("📍 Finding nearest rider using HaversineDistanceStrategy...");
-        for (Rider rider : riders) {
-            if (rider.isAvailable()) {
-                double distance = distanceStrategy.calculateDistance(
-                        rider.getCurentLocation(), order.getDeliveryLocation());
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    bestRider = rider;
-                }
+    // true: pick riders by EtaService travel time to the restaurant; false: by raw distance
+    public void setRankByEta(boolean rankByEta) {
+        this.rankByEta = rankByEta;
+        updateSearchLabel();
+    }
+
+    private void updateSearchLabel() {
+        DistanceStrategy strategy = distanceStrategy;
+        searchLabel = (strategy == null ? "no distance strategy" : strategy.getClass().getSimpleName())
+                + (rankByEta ? ", ranked by ETA" : "");
+    }
+
+    public boolean isRankByEta() {
+        return rankByEta;
+    }
+
+    // ✅ k nearest available riders, closest first
+    public List<GeoGridIndex.Neighbor<Rider>> findNearestAvailableRiders(Location target, int k) {
+        Location riderAt = new Location(0, 0);
+        return availableRiders.nearest(target, k, maxSearchRadiusKm,
+                Rider::isAvailable,
+                rider -> {
+                    rider.readLocation(riderAt);
+                    return distanceStrategy.calculateDistance(riderAt, target);
+                });
+    }
+
+    // ✅ Switch between one-by-one greedy dispatch and windowed batch matching.
+    // In BATCH mode orders are pooled for windowMillis and riders further than cutoffKm are pruned.
+    // Orders still waiting in the old batch window move to the new mode's path.
+    public synchronized void setDispatchMode(DispatchMode mode, long windowMillis, double cutoffKm) {
+        BatchDispatcher old = batchDispatcher;
+        batchDispatcher = mode == DispatchMode.BATCH
+                ? new BatchDispatcher(this, windowMillis, cutoffKm, batchStats)
+                : null;
+        this.dispatchMode = mode;
+        if (old != null) {
+            old.shutdown(this::requestRider);
+        }
+    }
+
+    public void setDispatchMode(DispatchMode mode) {
+        setDispatchMode(mode, 500, 10.0);
+    }
+
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    // ✅ Entry point for DeliveryManager: completes with the reserved rider, or null if none is free
+    public CompletableFuture<Rider> requestRider(Order order) {
+        while (true) {
+            BatchDispatcher batch = batchDispatcher;
+            if (batch == null) {
+                return CompletableFuture.completedFuture(assignRider(order));
+            }
+            try {
+                return batch.submit(order);
+            } catch (RejectedExecutionException e) {
+                // The mode changed after we read it: go again with the new one
             }
         }
+    }
+
+    public Rider assignRider(Order order) {
+        OrderEventLog events = OrderEventLog.getInstance();
+        events.emit(OrderEventType.RIDER_SEARCH, order.getOrderId(), 0, searchLabel);
+        GeoGridIndex.Neighbor<Rider> best = reserveBestRider(pickupPoint(order));
+        Rider bestRider = best == null ? null : best.getItem();
 
         if (bestRider != null) {
-            bestRider.setAvailable(false);
-            order.setOrderStatus(OrderStatus.ASSIGNED_TO_DELIVERY);
-            System.out.println("🚲 Rider " + bestRider.getRiderName() + " assigned to order " + order.getOrderId());
+            greedyStats.record(best.getDistanceKm());
+            events.emit(OrderEventType.RIDER_ASSIGNED, order.getOrderId(), 0, bestRider.getRiderName());
             return bestRider;
         } else {
-            System.out.println("❌ No available riders for order #" + order.getOrderId());
+            events.emit(OrderEventType.NO_RIDER_AVAILABLE, order.getOrderId());
             return null;
         }
     }
+
+    // ✅ Total and p99 pickup distance of every assignment made so far, per mode
+    public void printDispatchReport() {
+        System.out.println("📊 Dispatch report (rider → restaurant pickup distance)");
+        System.out.println(" - " + greedyStats);
+        System.out.println(" - " + batchStats);
+    }
+
+    public void resetDispatchStats() {
+        greedyStats.reset();
+        batchStats.reset();
+    }
+
+    // Riders are ranked by how far they are from the restaurant they must collect from
+    static Location pickupPoint(Order order) {
+        return order.getRestaurant() != null ? order.getRestaurant().getLocation() : order.getDeliveryLocation();
+    }
+
+    // ✅ Rider finished a delivery: park them at the drop point and make them dispatchable again
+    public void releaseRider(Rider rider, Location lastKnownLocation) {
+        if (lastKnownLocation != null) {
+            rider.setCurentLocation(lastKnownLocation);
+        }
+        rider.release();
+    }
+
+    // ✅ Lock-free reservation: CAS the best candidates in order.
+    // A rider reserved by a concurrent dispatch drops out of the grid,
+    // so re-querying after losing every race yields fresh candidates.
+    private GeoGridIndex.Neighbor<Rider> reserveBestRider(Location target) {
+        boolean byEta = rankByEta;
+        while (true) {
+            List<GeoGridIndex.Neighbor<Rider>> candidates =
+                    findNearestAvailableRiders(target, byEta ? ETA_CANDIDATES : RESERVATION_CANDIDATES);
+            if (candidates.isEmpty()) {
+                return null;
+            }
+            if (byEta) {
+                // O(1) matrix lookup per candidate; ties keep distance order. Each ETA is taken
+                // once up front: riders keep moving, and the sort needs keys that stay put.
+                EtaService eta = EtaService.getInstance();
+                Map<GeoGridIndex.Neighbor<Rider>, Long> etaMillis = new IdentityHashMap<>();
+                Location riderAt = new Location(0, 0);
+                for (GeoGridIndex.Neighbor<Rider> candidate : candidates) {
+                    candidate.getItem().readLocation(riderAt);
+                    etaMillis.put(candidate, eta.travelMillis(riderAt, target));
+                }
+                candidates.sort(Comparator.comparingLong(etaMillis::get));
+            }
+            for (GeoGridIndex.Neighbor<Rider> candidate : candidates) {
+                if (candidate.getItem().tryReserve()) {
+                    return candidate;
+                }
+            }
+        }
+    }
+
+    // ✅ Keep the grid in sync with rider moves
+    @Override
+    public void onLocationChanged(Rider rider) {
+        syncRider(rider);
+    }
+
+    // ✅ Busy riders leave the grid, so queries never have to skip over them
+    @Override
+    public void onAvailabilityChanged(Rider rider, boolean isAvailable) {
+        syncRider(rider);
+    }
+
+    // Callbacks for one rider can run concurrently and finish in any order (a reserve
+    // racing a release, or a GPS ping re-indexing a rider that was just reserved).
+    // So the grid is made to match the rider's current state, not the change that
+    // triggered the call, and redone if the rider changed again meanwhile: whichever
+    // callback writes last leaves the grid matching the rider.
+    private void syncRider(Rider rider) {
+        while (true) {
+            long version = rider.getStateVersion();
+            if (rider.isAvailable()) {
+                Location location = SYNC_SCRATCH.get();
+                rider.readLocation(location);
+                availableRiders.put(rider, location.getLatitude(), location.getLongitude());
+            } else {
+                availableRiders.remove(rider);
+            }
+            if (rider.getStateVersion() == version) {
+                return;
+            }
+        }
+    }
 }
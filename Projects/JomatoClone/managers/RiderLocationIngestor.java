@@ -0,0 +1,146 @@
+package Projects.ZomatoClone.managers;
+
+import Projects.ZomatoClone.models.Rider;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// High-rate GPS ping intake. Pings arrive in batches as parallel primitive
+// arrays, are checked against the rider's last applied timestamp and moved
+// into the rider's own Location in place, so a ping allocates nothing.
+public class RiderLocationIngestor {
+    // Pings older than this (device time vs. our clock) are not worth applying
+    private static final long MAX_PING_AGE_MS = 30_000;
+    // Upper bounds of the ingest-lag buckets, in ms; the last bucket is everything above
+    private static final long[] LAG_BUCKETS_MS = {100, 500, 1_000, 5_000};
+
+    private static volatile RiderLocationIngestor instance;
+
+    private final RiderAssignmentManager riderMgr;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder droppedStale = new LongAdder();
+    private final LongAdder droppedOutOfOrder = new LongAdder();
+    private final LongAdder droppedUnknownRider = new LongAdder();
+    private final LongAdder lagTotalMs = new LongAdder();
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private final LongAdder[] lagBuckets = new LongAdder[LAG_BUCKETS_MS.length + 1];
+
+    private RiderLocationIngestor() {
+        this.riderMgr = RiderAssignmentManager.getInstance();
+        for (int i = 0; i < lagBuckets.length; i++) {
+            lagBuckets[i] = new LongAdder();
+        }
+    }
+
+    public static RiderLocationIngestor getInstance() {
+        if (instance == null) {
+            synchronized (RiderLocationIngestor.class) {
+                if (instance == null) {
+                    instance = new RiderLocationIngestor();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ✅ Apply the first count pings of a batch; returns how many were applied
+    public int ingest(long[] riderIds, double[] latitudes, double[] longitudes, long[] timestampsMillis, int count) {
+        long now = System.currentTimeMillis();
+        long batchMaxLag = 0;
+        int applied = 0;
+        for (int i = 0; i < count; i++) {
+            long lag = apply(riderIds[i], latitudes[i], longitudes[i], timestampsMillis[i], now);
+            if (lag >= 0) {
+                applied++;
+                batchMaxLag = Math.max(batchMaxLag, lag);
+            }
+        }
+        accepted.add(applied);
+        maxLagMs.accumulateAndGet(batchMaxLag, Math::max);
+        return applied;
+    }
+
+    public boolean ingest(long riderId, double latitude, double longitude, long timestampMillis) {
+        long lag = apply(riderId, latitude, longitude, timestampMillis, System.currentTimeMillis());
+        if (lag < 0) {
+            return false;
+        }
+        accepted.increment();
+        maxLagMs.accumulateAndGet(lag, Math::max);
+        return true;
+    }
+
+    // Returns the ping's ingest lag, or -1 if it was dropped
+    private long apply(long riderId, double latitude, double longitude, long timestampMillis, long now) {
+        long lag = Math.max(0, now - timestampMillis);
+        if (lag > MAX_PING_AGE_MS) {
+            droppedStale.increment();
+            return -1;
+        }
+        Rider rider = riderMgr.getRider(riderId);
+        if (rider == null) {
+            droppedUnknownRider.increment();
+            return -1;
+        }
+        if (!rider.updateLocation(latitude, longitude, timestampMillis)) {
+            droppedOutOfOrder.increment();
+            return -1;
+        }
+        lagTotalMs.add(lag);
+        lagBuckets[lagBucket(lag)].increment();
+        return lag;
+    }
+
+    private static int lagBucket(long lagMs) {
+        for (int i = 0; i < LAG_BUCKETS_MS.length; i++) {
+            if (lagMs <= LAG_BUCKETS_MS[i]) {
+                return i;
+            }
+        }
+        return LAG_BUCKETS_MS.length;
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedStale.sum() + droppedOutOfOrder.sum() + droppedUnknownRider.sum();
+    }
+
+    // ✅ Average time between a ping being taken on the device and reaching the rider state
+    public double getAverageIngestLagMillis() {
+        long n = accepted.sum();
+        return n == 0 ? 0 : (double) lagTotalMs.sum() / n;
+    }
+
+    public long getMaxIngestLagMillis() {
+        return maxLagMs.get();
+    }
+
+    public void printIngestReport() {
+        System.out.println("📊 Rider location ingest report");
+        System.out.printf(" - applied %d, dropped %d stale / %d out-of-order / %d unknown rider%n",
+                accepted.sum(), droppedStale.sum(), droppedOutOfOrder.sum(), droppedUnknownRider.sum());
+        System.out.printf(" - ingest lag avg %.1f ms, max %d ms%n", getAverageIngestLagMillis(), getMaxIngestLagMillis());
+        StringBuilder buckets = new StringBuilder(" - lag buckets:");
+        for (int i = 0; i < lagBuckets.length; i++) {
+            String label = i < LAG_BUCKETS_MS.length ? "≤" + LAG_BUCKETS_MS[i] + "ms" : ">" + LAG_BUCKETS_MS[i - 1] + "ms";
+            buckets.append(' ').append(label).append('=').append(lagBuckets[i].sum());
+        }
+        System.out.println(buckets);
+    }
+
+    public void resetStats() {
+        accepted.reset();
+        droppedStale.reset();
+        droppedOutOfOrder.reset();
+        droppedUnknownRider.reset();
+        lagTotalMs.reset();
+        maxLagMs.set(0);
+        for (LongAdder bucket : lagBuckets) {
+            bucket.reset();
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package Projects.ZomatoClone.models;
 
-import java.util.HashMap;
+import Projects.ZomatoClone.utils.DishQuantityMap;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class Cart {
+    // Restaurant that new items are added from
     private Restaurant restaurant;
-    private Map<Dish, Integer> items;
+    private final DishQuantityMap items;
+    // The same lines grouped by restaurant, in the order restaurants were first added.
+    // A cart with more than one section is split into sub-orders at checkout.
+    private final Map<Restaurant, Section> sections = new LinkedHashMap<>();
+
+    // Running subtotal in paise, updated on every add / remove so reading it is O(1).
+    // Each line is priced when it is added.
+    private long totalCostPaise;
 
     public Cart() {
         this.restaurant = null;
-        this.items = new HashMap<>();
+        this.items = new DishQuantityMap();
     }
 
     public void setRestaurant(Restaurant r) {
@@ -30,21 +42,55 @@ public class Cart {
             return;
         }
 
-        items.put(dish, items.getOrDefault(dish, 0) + quantity);
+        items.add(dish, quantity);
+        totalCostPaise += dish.getPricePaise() * quantity;
+        sections.computeIfAbsent(restaurant, Section::new).add(dish, quantity);
+    }
+
+    // ✅ Add an item from another restaurant; the cart becomes a multi-restaurant basket
+    public void addItem(Restaurant from, Dish dish, int quantity) {
+        setRestaurant(from);
+        addItem(dish, quantity);
     }
 
+    // Remove up to `quantity` units of a dish from the current restaurant's section
+    public void removeItem(Dish dish, int quantity) {
+        Section section = sections.get(restaurant);
+        if (quantity <= 0 || section == null) {
+            return;
+        }
+        int removed = -section.add(dish, -quantity);
+        items.add(dish, -removed);
+        totalCostPaise -= dish.getPricePaise() * removed;
+        if (section.items.isEmpty()) {
+            sections.remove(restaurant);
+        }
+    }
+
+    // Boxed copy of the lines; prefer getItemQuantities() on hot paths
     public Map<Dish, Integer> getItems() {
+        return items.toMap();
+    }
+
+    public DishQuantityMap getItemQuantities() {
         return items;
     }
 
     public double getTotalCost() {
-        double total = 0;
-        for (Map.Entry<Dish, Integer> entry : items.entrySet()) {
-            Dish dish = entry.getKey();
-            int quantity = entry.getValue();
-            total += dish.getPrice() * quantity;
-        }
-        return total;
+        return totalCostPaise / 100.0;
+    }
+
+    public long getTotalCostPaise() {
+        return totalCostPaise;
+    }
+
+    // Lines grouped by restaurant
+    public Collection<Section> getSections() {
+        return Collections.unmodifiableCollection(sections.values());
+    }
+
+    public boolean isMultiRestaurant() {
+        return sections.size() > 1;
     }
 
     public boolean isEmpty() {
@@ -53,7 +99,40 @@ public class Cart {
 
     public void clear() {
         items.clear();
+        sections.clear();
+        totalCostPaise = 0;
         restaurant = null;
         System.out.println("🧹 Cart cleared");
     }
+
+    // One restaurant's share of the cart
+    public static class Section {
+        private final Restaurant restaurant;
+        private final DishQuantityMap items = new DishQuantityMap();
+        private long subtotalPaise;
+
+        private Section(Restaurant restaurant) {
+            this.restaurant = restaurant;
+        }
+
+        // Returns how many units were actually added (negative when removing)
+        private int add(Dish dish, int delta) {
+            int before = items.get(dish);
+            int change = items.add(dish, delta) - before;
+            subtotalPaise += dish.getPricePaise() * change;
+            return change;
+        }
+
+        public Restaurant getRestaurant() {
+            return restaurant;
+        }
+
+        public DishQuantityMap getItemQuantities() {
+            return items;
+        }
+
+        public long getSubtotalPaise() {
+            return subtotalPaise;
+        }
+    }
 }
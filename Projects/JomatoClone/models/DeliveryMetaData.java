@@ -4,6 +4,14 @@ public class DeliveryMetaData {
     private Rider assignedRider;
     private Location pickupLocation;
     private Location dropLocation;
+    // Where the rider started from, copied at assignment (the rider's own Location keeps moving)
+    private Location riderStartLocation;
+
+    // Estimates from EtaService at assignment time, and the actual leg timestamps
+    private long pickupEtaMillis;
+    private long dropEtaMillis;
+    private long assignedAtMillis;
+    private long pickedUpAtMillis;
 
     public void setAssignedRider(Rider rider) {
         this.assignedRider  = rider;
@@ -28,4 +36,53 @@ public class DeliveryMetaData {
     public Location getDropLocation() {
         return dropLocation;
     }
+
+    public Location getRiderStartLocation() {
+        return riderStartLocation;
+    }
+
+    public void setRiderStartLocation(Location riderStartLocation) {
+        this.riderStartLocation = riderStartLocation;
+    }
+
+    public long getPickupEtaMillis() {
+        return pickupEtaMillis;
+    }
+
+    public void setPickupEtaMillis(long pickupEtaMillis) {
+        this.pickupEtaMillis = pickupEtaMillis;
+    }
+
+    public long getDropEtaMillis() {
+        return dropEtaMillis;
+    }
+
+    public void setDropEtaMillis(long dropEtaMillis) {
+        this.dropEtaMillis = dropEtaMillis;
+    }
+
+    public long getAssignedAtMillis() {
+        return assignedAtMillis;
+    }
+
+    public void setAssignedAtMillis(long assignedAtMillis) {
+        this.assignedAtMillis = assignedAtMillis;
+    }
+
+    public long getPickedUpAtMillis() {
+        return pickedUpAtMillis;
+    }
+
+    public void setPickedUpAtMillis(long pickedUpAtMillis) {
+        this.pickedUpAtMillis = pickedUpAtMillis;
+    }
+
+    // Rider -> restaurant -> customer
+    public long getDeliveryEtaMillis() {
+        return pickupEtaMillis + dropEtaMillis;
+    }
+
+    public long getEstimatedDeliveryAtMillis() {
+        return assignedAtMillis + getDeliveryEtaMillis();
+    }
 }
@@ -2,17 +2,29 @@ package Projects.ZomatoClone.models;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 public class Dish {
+    public static final long DEFAULT_PREP_TIME_MS = 3000;
+
     private String name;
     private String description;
     private double price;
+    private long pricePaise; // price in fixed-point paise, kept in step with price
+    private long prepTimeMillis; // one kitchen batch of this dish
     private List<String> dishImages;
     private List<DishAddOn> addOns;
+    private int hash; // cached hashCode, 0 = not computed yet
 
     public Dish(String name, double price) {
+        this(name, price, DEFAULT_PREP_TIME_MS);
+    }
+
+    public Dish(String name, double price, long prepTimeMillis) {
         this.name = name;
         this.price = price;
+        this.pricePaise = toPaise(price);
+        this.prepTimeMillis = prepTimeMillis;
         this.dishImages = new ArrayList<>();
         this.addOns = new ArrayList<>();
     }
@@ -24,6 +36,7 @@ public class Dish {
 
     public void setName(String n) {
         this.name = n;
+        this.hash = 0;
     }
 
     public String getDescription() {
@@ -40,6 +53,24 @@ public class Dish {
 
     public void setPrice(double p) {
         this.price = p;
+        this.pricePaise = toPaise(p);
+        this.hash = 0;
+    }
+
+    public long getPricePaise() {
+        return pricePaise;
+    }
+
+    public static long toPaise(double rupees) {
+        return Math.round(rupees * 100);
+    }
+
+    public long getPrepTimeMillis() {
+        return prepTimeMillis;
+    }
+
+    public void setPrepTimeMillis(long prepTimeMillis) {
+        this.prepTimeMillis = prepTimeMillis;
     }
 
     public List<String> getDishImages() {
@@ -58,6 +89,29 @@ public class Dish {
         this.addOns = addOns;
     }
 
+    // Two dishes are the same menu item when name (case-insensitive) and price match,
+    // so a Dish built by the caller finds the menu's Dish in Cart / Order maps.
+    // Don't rename or reprice a Dish while it is a key in one of those maps.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Dish)) return false;
+        Dish other = (Dish) o;
+        return Double.compare(price, other.price) == 0
+                && (name == null ? other.name == null : name.equalsIgnoreCase(other.name));
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            int nameHash = name == null ? 0 : name.toLowerCase(Locale.ROOT).hashCode();
+            h = 31 * nameHash + Double.hashCode(price);
+            hash = h;
+        }
+        return h;
+    }
+
     // Convenience methods
     public void addImage(String imageUrl) {
         this.dishImages.add(imageUrl);
@@ -4,9 +4,14 @@ public class Location {
     private double latitude;
     private double longitude;
 
+    // Cached trig terms so distance strategies don't recompute them for every pair
+    private double latitudeRadians;
+    private double longitudeRadians;
+    private double cosLatitude;
+
     public Location(double latitude, double longitude) {
-        this.latitude = latitude;
-        this.longitude = longitude;
+        setLatitude(latitude);
+        setLongitude(longitude);
     }
 
     public double getLatitude() {
@@ -15,6 +20,8 @@ public class Location {
 
     public void setLatitude(double latitude) {
         this.latitude = latitude;
+        this.latitudeRadians = Math.toRadians(latitude);
+        this.cosLatitude = Math.cos(latitudeRadians);
     }
 
     public double getLongitude() {
@@ -23,5 +30,33 @@ public class Location {
 
     public void setLongitude(double longitude) {
         this.longitude = longitude;
+        this.longitudeRadians = Math.toRadians(longitude);
+    }
+
+    // Move in place (e.g. a rider's GPS ping) without allocating a new Location
+    public void set(double latitude, double longitude) {
+        setLatitude(latitude);
+        setLongitude(longitude);
+    }
+
+    // Copies the cached trig terms too, so no trig is recomputed
+    public void copyFrom(Location other) {
+        this.latitude = other.latitude;
+        this.longitude = other.longitude;
+        this.latitudeRadians = other.latitudeRadians;
+        this.longitudeRadians = other.longitudeRadians;
+        this.cosLatitude = other.cosLatitude;
+    }
+
+    public double getLatitudeRadians() {
+        return latitudeRadians;
+    }
+
+    public double getLongitudeRadians() {
+        return longitudeRadians;
+    }
+
+    public double getCosLatitude() {
+        return cosLatitude;
     }
 }
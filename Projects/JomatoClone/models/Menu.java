@@ -1,52 +1,96 @@
 package Projects.ZomatoClone.models;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class Menu {
     private String restaurantName;
-    private List<Dish> dishes;
+
+    // Copy-on-write: readers grab the current snapshot without locking,
+    // writers build a new one under the menu lock and publish it in one volatile write
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
 
     // Constructor to initialize the menu with a restaurant name
     public Menu(String restaurantName) {
         this.restaurantName = restaurantName;
-        this.dishes = new ArrayList<>();
     }
 
+    // Read-only view of the current dishes; later edits publish a new list and never touch this one
     public List<Dish> getDishes() {
-        return dishes;
+        return snapshot.dishList;
     }
 
-    public void setDishes(List<Dish> menuItems) {
-        this.dishes = (menuItems != null) ? menuItems : new ArrayList<>();
+    public synchronized void setDishes(List<Dish> menuItems) {
+        List<Dish> dishes = new ArrayList<>();
+        if (menuItems != null) {
+            for (Dish dish : menuItems) {
+                if (dish != null) {
+                    dishes.add(dish);
+                }
+            }
+        }
+        snapshot = new Snapshot(dishes.toArray(new Dish[0]));
     }
 
     // Add a new dish to the menu
-    public void addDish(Dish dish) {
+    public synchronized void addDish(Dish dish) {
         if (dish != null) {
-            this.dishes.add(dish);
+            Dish[] current = snapshot.dishes;
+            Dish[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = dish;
+            snapshot = new Snapshot(next);
         }
     }
 
     // Remove dish from menu
-    public void removeDish(Dish dish) {
-        this.dishes.remove(dish);
+    public synchronized void removeDish(Dish dish) {
+        List<Dish> dishes = new ArrayList<>(snapshot.dishList);
+        if (dishes.remove(dish)) {
+            snapshot = new Snapshot(dishes.toArray(new Dish[0]));
+        }
     }
 
-    // Find dish by name (case-insensitive)
+    // Find dish by name (case-insensitive), O(1) via the case-folded index
     public Dish getDishByName(String name) {
-        for (Dish dish : dishes) {
-            if (dish.getName().equalsIgnoreCase(name)) {
-                return dish;
-            }
+        if (name == null) {
+            return null;
         }
-        return null;
+        return snapshot.byName.get(foldCase(name));
     }
 
     public void printMenu() {
         System.out.println("📜 Menu for " + (restaurantName != null ? restaurantName : "Restaurant") + ":");
-        for (Dish dish : dishes) {
+        for (Dish dish : snapshot.dishes) {
             System.out.println(" - " + dish.getName() + " ₹" + dish.getPrice());
         }
     }
+
+    private static String foldCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // Immutable once published
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new Dish[0]);
+
+        final Dish[] dishes;
+        final List<Dish> dishList;
+        final Map<String, Dish> byName;
+
+        Snapshot(Dish[] dishes) {
+            this.dishes = dishes;
+            this.dishList = Collections.unmodifiableList(Arrays.asList(dishes));
+            Map<String, Dish> index = new HashMap<>(dishes.length * 2);
+            for (Dish dish : dishes) {
+                // first dish with a given name wins, as with the old linear scan
+                index.putIfAbsent(foldCase(dish.getName()), dish);
+            }
+            this.byName = index;
+        }
+    }
 }
@@ -2,30 +2,44 @@ package Projects.ZomatoClone.models;
 
 import Projects.ZomatoClone.enums.OrderStatus;
 import Projects.ZomatoClone.strategies.IPaymentStrategy;
+import Projects.ZomatoClone.utils.DishQuantityMap;
 import Projects.ZomatoClone.utils.IdGeneration;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 public class Order {
 
-    private final int orderId;
+    private final long orderId;
     private final User user;
     private final Location deliveryLocation;
 
     private Restaurant restaurant;
-    private final Map<Dish, Integer> items;
+    private final DishQuantityMap items;
+    private Map<Dish, Integer> itemsView; // boxed view, built on first getItems()
     private IPaymentStrategy paymentStrategy;
 
-    private final double foodAmount;
-    private static final double GST_RATE = 0.18;
-    private static final double DELIVERY_CHARGE = 40.0;
-    private double totalCost;
+    // All amounts in fixed-point paise
+    private final long foodAmountPaise;
+    private static final int GST_PERCENT = 18;
+    private static final long DELIVERY_CHARGE_PAISE = 4000;
+    private final long deliveryChargePaise;
+    private long gstPaise;
+    private long totalCostPaise;
+    private volatile long predictedReadyAtMillis; // set by the kitchen when the order is queued
+    private volatile long statusChangedAtNanos = System.nanoTime(); // when the current status was entered
 
     private OrderStatus orderStatus;
     private DeliveryMetaData deliveryMetaData;
     private boolean isPaid = false;
 
+    // Multi-restaurant checkout: the parent is paid once, each sub-order is cooked by one restaurant
+    private final Order parentOrder;
+    private final List<Order> subOrders = new ArrayList<>();
+    private PickupGroup pickupGroup; // sub-orders collected by the same rider, null if on its own
+
 
     // ✅ Constructor
     public Order(User user) {
@@ -33,16 +47,39 @@ public class Order {
         this.user = user;
         this.deliveryLocation = user.getLocation();
         this.restaurant = user.getCart().getRestaurant();
-        this.items = new HashMap<>(user.getCart().getItems());
+        this.items = user.getCart().getItemQuantities().copy();
         this.paymentStrategy = null;
         this.orderStatus = OrderStatus.PENDING;
+        this.parentOrder = null;
 
-        this.foodAmount = user.getCart().getTotalCost();
+        // Cart keeps a running subtotal, so no need to walk the items again
+        this.foodAmountPaise = user.getCart().getTotalCostPaise();
+        this.deliveryChargePaise = DELIVERY_CHARGE_PAISE;
         calculateTotal(); // Immediately calculate cost
     }
 
+    // ✅ Sub-order for one restaurant's section of a multi-restaurant cart.
+    // The delivery charge is billed once, on the parent.
+    public Order(Order parent, Cart.Section section) {
+        this.orderId = IdGeneration.generateOrderId();
+        this.user = parent.user;
+        this.deliveryLocation = parent.deliveryLocation;
+        this.restaurant = section.getRestaurant();
+        this.items = section.getItemQuantities().copy();
+        this.paymentStrategy = parent.paymentStrategy;
+        this.orderStatus = OrderStatus.PENDING;
+        this.parentOrder = parent;
+
+        this.foodAmountPaise = section.getSubtotalPaise();
+        this.deliveryChargePaise = 0;
+        calculateTotal();
+    }
+
     public void markPaid() {
         this.isPaid = true;
+        for (Order subOrder : subOrders) {
+            subOrder.markPaid();
+        }
     }
 
     public boolean isPaid() {
@@ -57,16 +94,16 @@ public class Order {
         this.deliveryMetaData = deliveryMetaData;
     }
 
-    // ✅ Total Calculation: subtotal + GST + delivery
+    // ✅ Total Calculation: subtotal + GST (rounded half-up to the paisa) + delivery
     private void calculateTotal() {
-        double gst = foodAmount * GST_RATE;
-        totalCost = foodAmount + gst + DELIVERY_CHARGE;
+        gstPaise = (foodAmountPaise * GST_PERCENT + 50) / 100;
+        totalCostPaise = foodAmountPaise + gstPaise + deliveryChargePaise;
     }
 
     // ✅ Payment processing
     public void processPayment() {
         if (paymentStrategy != null) {
-            paymentStrategy.pay(orderId, totalCost);
+            paymentStrategy.pay(orderId, getTotal());
         } else {
             System.out.println("⚠️ Please choose a payment mode first.");
         }
@@ -79,24 +116,33 @@ public class Order {
         System.out.println("🧾 Order Summary (Invoice):");
 
         System.out.println("Items:");
-        for (Map.Entry<Dish, Integer> entry : items.entrySet()) {
-            Dish dish = entry.getKey();
-            int qty = entry.getValue();
-            double cost = dish.getPrice() * qty;
-            System.out.printf(" - %s (x%d): ₹%.2f%n", dish.getName(), qty, cost);
+        if (subOrders.isEmpty()) {
+            printItems(items);
+        } else {
+            for (Order subOrder : subOrders) {
+                System.out.println(" " + subOrder.getRestaurant().getName() + " (Order #" + subOrder.getOrderId() + "):");
+                printItems(subOrder.items);
+            }
         }
 
         System.out.println("--------------------------------");
-        System.out.printf("Subtotal: ₹%.2f%n", foodAmount);
-        System.out.printf("GST (18%%): ₹%.2f%n", foodAmount * GST_RATE);
-        System.out.printf("Delivery Charge: ₹%.2f%n", DELIVERY_CHARGE);
-        System.out.printf("Total Payable: ₹%.2f%n", totalCost);
+        System.out.printf("Subtotal: ₹%.2f%n", foodAmountPaise / 100.0);
+        System.out.printf("GST (%d%%): ₹%.2f%n", GST_PERCENT, gstPaise / 100.0);
+        System.out.printf("Delivery Charge: ₹%.2f%n", deliveryChargePaise / 100.0);
+        System.out.printf("Total Payable: ₹%.2f%n", totalCostPaise / 100.0);
         System.out.println("--------------------------------");
     }
 
 
+    private static void printItems(DishQuantityMap items) {
+        items.forEach((dish, qty) -> {
+            double cost = dish.getPricePaise() * qty / 100.0;
+            System.out.printf(" - %s (x%d): ₹%.2f%n", dish.getName(), qty, cost);
+        });
+    }
+
     // ✅ Getters and Setters
-    public int getOrderId() {
+    public long getOrderId() {
         return orderId;
     }
 
@@ -113,12 +159,62 @@ public class Order {
     }
 
     public Map<Dish, Integer> getItems() {
-        return items;
+        if (itemsView == null) {
+            itemsView = items.toMap();
+        }
+        return itemsView;
     }
 
+    public DishQuantityMap getItemQuantities() {
+        return items;
+    }
 
     public double getTotal() {
-        return totalCost;
+        return totalCostPaise / 100.0;
+    }
+
+    public long getTotalPaise() {
+        return totalCostPaise;
+    }
+
+    public long getPredictedReadyAtMillis() {
+        return predictedReadyAtMillis;
+    }
+
+    public void setPredictedReadyAtMillis(long predictedReadyAtMillis) {
+        this.predictedReadyAtMillis = predictedReadyAtMillis;
+    }
+
+    public long getStatusChangedAtNanos() {
+        return statusChangedAtNanos;
+    }
+
+    public void setStatusChangedAtNanos(long statusChangedAtNanos) {
+        this.statusChangedAtNanos = statusChangedAtNanos;
+    }
+
+    public Order getParentOrder() {
+        return parentOrder;
+    }
+
+    public void addSubOrder(Order subOrder) {
+        subOrders.add(subOrder);
+    }
+
+    public List<Order> getSubOrders() {
+        return Collections.unmodifiableList(subOrders);
+    }
+
+    public boolean hasSubOrders() {
+        return !subOrders.isEmpty();
+    }
+
+    public PickupGroup getPickupGroup() {
+        return pickupGroup;
+    }
+
+    public void setPickupGroup(PickupGroup pickupGroup) {
+        this.pickupGroup = pickupGroup;
     }
 
     public void setPaymentStrategy(IPaymentStrategy strategy) {
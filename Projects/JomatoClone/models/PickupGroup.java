@@ -0,0 +1,37 @@
+package Projects.ZomatoClone.models;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Sub-orders of one checkout whose restaurants are close enough for a single
+// rider to collect them all on the way to the customer. The rider is requested
+// once the last of them is ready for pickup.
+public class PickupGroup {
+    private final List<Order> orders;
+    private int ready; // guarded by this
+    private final CompletableFuture<Void> delivered = new CompletableFuture<>();
+
+    public PickupGroup(List<Order> orders) {
+        this.orders = List.copyOf(orders);
+    }
+
+    // ✅ True for the call that makes the whole group ready
+    public synchronized boolean markReady() {
+        return ++ready == orders.size();
+    }
+
+    // ✅ A member failed or the rider search gave up: every member's wait ends with this error
+    public void fail(Throwable cause) {
+        delivered.completeExceptionally(cause);
+    }
+
+    public List<Order> getOrders() {
+        return Collections.unmodifiableList(orders);
+    }
+
+    // Completes when every order in the group has been delivered; fails if any of them could not be
+    public CompletableFuture<Void> getDelivered() {
+        return delivered;
+    }
+}
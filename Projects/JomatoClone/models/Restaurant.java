@@ -1,18 +1,21 @@
 package Projects.ZomatoClone.models;
 
+import Projects.ZomatoClone.service.KitchenScheduler;
 import Projects.ZomatoClone.utils.IdGeneration;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 
 public class Restaurant {
-    private final int restaurantId;
+    private final long restaurantId;
     private String name;
     private Location location;
     private final Menu menu;
     private RestaurantOwner owner;
-    private  boolean isOpen;
+    private volatile boolean isOpen;
+    private final KitchenScheduler kitchen;
 
     public Restaurant(String name, RestaurantOwner owner, Location location) {
         this.name = name;
@@ -21,13 +24,19 @@ public class Restaurant {
         this.menu = new Menu(name);
         this.restaurantId = IdGeneration.generateRestaurantId();
         this.isOpen = true;  // assuming restaurant is open by default
+        // Prep times come from the menu's copy of each dish
+        this.kitchen = new KitchenScheduler(name, dish -> menu.getDishByName(dish.getName()));
     }
 
     public boolean isOpen() {
         return isOpen;
     }
 
-    public int getRestaurantId() {
+    public void setOpen(boolean open) {
+        this.isOpen = open;
+    }
+
+    public long getRestaurantId() {
         return restaurantId;
     }
 
@@ -43,33 +52,35 @@ public class Restaurant {
         return location;
     }
 
+    // Registered restaurants move through RestaurantManager.moveRestaurant so the search grid follows
     public void setLocation(Location loc) {
         this.location = loc;
     }
 
+    // Menu edits of a registered restaurant go through RestaurantManager, which keeps the dish index in step
     public void addMenuItem(Dish item) {
         menu.addDish(item);
     }
 
+    public void removeMenuItem(Dish item) {
+        menu.removeDish(item);
+    }
+
+    public void setMenuItems(List<Dish> items) {
+        menu.setDishes(items);
+    }
+
     public List<Dish> getMenuItem() {
         return menu.getDishes();
     }
 
 
-    // preparing food
-    public boolean foodPrepareComplete(Order order, Map<Dish, Integer> dishes) {
-        for (Map.Entry<Dish, Integer> entry : dishes.entrySet()) {
-            Dish dish = entry.getKey();
-            int quantity = entry.getValue();
-
-            System.out.println("🥘 Preparing " + quantity + " x " + dish.getName() + "...");
+    public KitchenScheduler getKitchen() {
+        return kitchen;
+    }
 
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                System.out.println("⚠️ Error while preparing food: " + e.getMessage());
-            }
-        }
-        return  true;
+    // preparing food: dishes are cooked in parallel on the kitchen's stations
+    public CompletableFuture<Boolean> foodPrepareComplete(Order order, Map<Dish, Integer> dishes) {
+        return kitchen.submit(order, dishes);
     }
 }
@@ -1,24 +1,38 @@
 package Projects.ZomatoClone.models;
 
+import Projects.ZomatoClone.service.RiderStateListener;
 import Projects.ZomatoClone.utils.IdGeneration;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
 public class Rider {
     private String name;
-    private final int riderId;
-    private Location location;
-    private boolean isAvailable;
+    private final long riderId;
+    // Owned by the rider and moved in place; callers' Location objects are copied in and out, never shared
+    private final Location location;
+    // Device time of the last applied GPS ping
+    private long locationTimestamp;
+    // Guards location and locationTimestamp. Readers copy optimistically (a seqlock)
+    // and only take the read lock if a ping landed during the copy.
+    private final StampedLock locationLock = new StampedLock();
+    // available by default; CAS target, so only the dispatcher that flips true -> false owns the rider
+    private final AtomicBoolean isAvailable = new AtomicBoolean(true);
+    // Bumped after every location or availability change, so an index can tell
+    // whether the rider changed again while it was being re-indexed
+    private final AtomicLong stateVersion = new AtomicLong();
     private double rating;
-
+    private volatile RiderStateListener stateListener;
 
     public Rider(String name, Location location) {
         this.name = name;
-        this.riderId = IdGeneration.generateUserId();
-        this.location = location;
-        this.isAvailable = true; // assuming rider is available by default
+        this.riderId = IdGeneration.generateRiderId();
+        this.location = new Location(location.getLatitude(), location.getLongitude());
         this.rating = 0.0; // default rating
     }
 
-    public int getRiderId() {
+    public long getRiderId() {
         return this.riderId;
     }
 
@@ -26,20 +40,106 @@ public class Rider {
         return this.name;
     }
 
+    // Consistent copy of the current location; hot paths reuse a scratch Location with readLocation instead
     public Location getCurentLocation() {
-        return location;
+        Location copy = new Location(0, 0);
+        readLocation(copy);
+        return copy;
+    }
+
+    // ✅ Copy the current location into out, never a half-applied ping
+    public void readLocation(Location out) {
+        long stamp = locationLock.tryOptimisticRead();
+        out.copyFrom(location);
+        if (!locationLock.validate(stamp)) {
+            stamp = locationLock.readLock();
+            try {
+                out.copyFrom(location);
+            } finally {
+                locationLock.unlockRead(stamp);
+            }
+        }
     }
 
     public void setCurentLocation(Location location) {
-        this.location = location;
+        long stamp = locationLock.writeLock();
+        try {
+            this.location.set(location.getLatitude(), location.getLongitude());
+        } finally {
+            locationLock.unlockWrite(stamp);
+        }
+        stateVersion.incrementAndGet();
+        if (stateListener != null) {
+            stateListener.onLocationChanged(this);
+        }
+    }
+
+    // ✅ Apply a timestamped GPS ping; pings not newer than the last applied one are ignored
+    public boolean updateLocation(double latitude, double longitude, long timestampMillis) {
+        long stamp = locationLock.writeLock();
+        try {
+            if (timestampMillis <= locationTimestamp) {
+                return false;
+            }
+            locationTimestamp = timestampMillis;
+            location.set(latitude, longitude);
+        } finally {
+            locationLock.unlockWrite(stamp);
+        }
+        stateVersion.incrementAndGet();
+        if (stateListener != null) {
+            stateListener.onLocationChanged(this);
+        }
+        return true;
+    }
+
+    public long getLocationTimestamp() {
+        long stamp = locationLock.readLock();
+        try {
+            return locationTimestamp;
+        } finally {
+            locationLock.unlockRead(stamp);
+        }
     }
 
     public boolean isAvailable() {
-        return isAvailable;
+        return isAvailable.get();
     }
 
     public void setAvailable(boolean isAvailable) {
-        this.isAvailable = isAvailable;
+        if (this.isAvailable.getAndSet(isAvailable) == isAvailable) {
+            return;
+        }
+        stateVersion.incrementAndGet();
+        if (stateListener != null) {
+            stateListener.onAvailabilityChanged(this, isAvailable);
+        }
+    }
+
+    // ✅ Atomically claim the rider; false means another order got there first
+    public boolean tryReserve() {
+        if (!isAvailable.compareAndSet(true, false)) {
+            return false;
+        }
+        stateVersion.incrementAndGet();
+        if (stateListener != null) {
+            stateListener.onAvailabilityChanged(this, false);
+        }
+        return true;
+    }
+
+    // ✅ Hand the rider back after delivery
+    public void release() {
+        setAvailable(true);
+    }
+
+    public long getStateVersion() {
+        return stateVersion.get();
+    }
+
+    // Index owner (e.g. RiderAssignmentManager) that must hear about moves and availability flips
+    public void setStateListener(RiderStateListener listener) {
+        this.stateListener = listener;
     }
 
     public double getRating() {
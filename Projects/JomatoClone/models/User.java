@@ -3,7 +3,7 @@ package Projects.ZomatoClone.models;
 import Projects.ZomatoClone.utils.IdGeneration;
 
 public class User {
-    private final int userId;
+    private final long userId;
     private String name;
     private Location location;
     private final Cart cart;
@@ -15,7 +15,7 @@ public class User {
         this.cart = new Cart();
     }
 
-    public int getUserId() {
+    public long getUserId() {
         return userId;
     }
 
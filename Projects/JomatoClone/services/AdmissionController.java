@@ -0,0 +1,275 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.models.Order;
+import Projects.ZomatoClone.models.Restaurant;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Load shedding in front of the order pipeline. Every admitted order holds one
+// slot in its restaurant's limit and one in the global limit until it leaves
+// the pipeline. Limits adapt with AIMD: a completion close to the best recent
+// latency grows the limit by ~1 per limit's worth of orders; a slow or failed
+// one cuts it by 10%, at most once per limit's worth of completions. When a
+// limit is full, the order is rejected at once with a retry-after hint instead
+// of being queued behind the backlog.
+public class AdmissionController {
+    private static final AdmissionController instance = new AdmissionController();
+
+    private static final long MIN_RETRY_AFTER_MS = 1000;
+
+    private final ConcurrencyLimit global = new ConcurrencyLimit("global", 200, 10, 5000);
+    private final Map<Long, ConcurrencyLimit> byRestaurant = new ConcurrentHashMap<>();
+    private final Map<Long, Permit> permitsByOrder = new ConcurrentHashMap<>();
+
+    private AdmissionController() {
+    }
+
+    public static AdmissionController getInstance() {
+        return instance;
+    }
+
+    // ✅ A slot for one more order at this restaurant, or null if it (or the whole system) is at its limit
+    public Permit tryAdmit(Restaurant restaurant) {
+        ConcurrencyLimit local = limitFor(restaurant);
+        if (!local.tryAcquire()) {
+            return null;
+        }
+        if (!global.tryAcquire()) {
+            // The order never got in, so the restaurant counts it as rejected, not admitted
+            local.cancelRejected();
+            return null;
+        }
+        return new Permit(local);
+    }
+
+    // Ties the permit to the order so the pipeline can hand it back by order
+    public void attach(Order order, Permit permit) {
+        permitsByOrder.put(order.getOrderId(), permit);
+    }
+
+    // ✅ Order left the pipeline: free its slots and feed the outcome to the limits
+    public void complete(Order order, boolean success) {
+        Permit permit = permitsByOrder.remove(order.getOrderId());
+        if (permit != null) {
+            permit.complete(success);
+        }
+    }
+
+    // Order abandoned before it entered the pipeline (e.g. never paid): free the slots only
+    public void cancel(Order order) {
+        Permit permit = permitsByOrder.remove(order.getOrderId());
+        if (permit != null) {
+            permit.cancel();
+        }
+    }
+
+    // ✅ Rough time until a slot frees up: one average pipeline latency spread over the limit
+    public long getRetryAfterMillis(Restaurant restaurant) {
+        ConcurrencyLimit local = limitFor(restaurant);
+        ConcurrencyLimit bottleneck = local.isFull() || !global.isFull() ? local : global;
+        return Math.max(MIN_RETRY_AFTER_MS, bottleneck.retryAfterMillis());
+    }
+
+    public int getInFlight() {
+        return global.getInFlight();
+    }
+
+    public int getInFlight(Restaurant restaurant) {
+        return limitFor(restaurant).getInFlight();
+    }
+
+    public int getLimit() {
+        return global.getLimit();
+    }
+
+    public int getLimit(Restaurant restaurant) {
+        return limitFor(restaurant).getLimit();
+    }
+
+    // Orders that asked for a slot, admitted or not
+    public long getOffered() {
+        return global.getOffered();
+    }
+
+    public long getOffered(Restaurant restaurant) {
+        return limitFor(restaurant).getOffered();
+    }
+
+    public long getRejected() {
+        return global.getRejected();
+    }
+
+    public long getRejected(Restaurant restaurant) {
+        return limitFor(restaurant).getRejected();
+    }
+
+    // Share of offered orders that were rejected, 0-1
+    public double getRejectionRate() {
+        return global.getRejectionRate();
+    }
+
+    public double getRejectionRate(Restaurant restaurant) {
+        return limitFor(restaurant).getRejectionRate();
+    }
+
+    // ✅ In-flight orders, current limits and rejection rate, globally and per restaurant
+    public void printAdmissionReport() {
+        System.out.println("📊 Admission report");
+        System.out.println(" - " + global);
+        for (ConcurrencyLimit limit : byRestaurant.values()) {
+            System.out.println(" - " + limit);
+        }
+    }
+
+    private ConcurrencyLimit limitFor(Restaurant restaurant) {
+        return byRestaurant.computeIfAbsent(restaurant.getRestaurantId(),
+                id -> new ConcurrencyLimit(restaurant.getName(), 20, 1, 200));
+    }
+
+    public class Permit {
+        private final ConcurrencyLimit local;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(ConcurrencyLimit local) {
+            this.local = local;
+        }
+
+        void complete(boolean success) {
+            if (released.compareAndSet(false, true)) {
+                long latencyNanos = System.nanoTime() - startNanos;
+                local.release(latencyNanos, success);
+                global.release(latencyNanos, success);
+            }
+        }
+
+        public void cancel() {
+            if (released.compareAndSet(false, true)) {
+                local.cancel();
+                global.cancel();
+            }
+        }
+    }
+
+    private static class ConcurrencyLimit {
+        // A completion slower than this multiple of the best recent latency counts as congestion
+        private static final double LATENCY_TOLERANCE = 2.0;
+        private static final double BACKOFF = 0.9;
+        private static final double LATENCY_ALPHA = 0.1;
+        // The best-latency baseline is re-learned after this many completions
+        private static final int MIN_LATENCY_WINDOW = 500;
+
+        private final String name;
+        private final int minLimit;
+        private final int maxLimit;
+
+        // Guarded by this
+        private double limit;
+        private int inFlight;
+        private long minLatencyNanos = Long.MAX_VALUE;
+        private int samplesSinceMinReset;
+        private double avgLatencyNanos;
+        private long admitted;
+        private long rejected;
+        private long completed;
+        private long failed;
+        // Completion count before which congestion is not acted on again (one cut per window)
+        private long nextDecreaseAt;
+
+        ConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit) {
+            this.name = name;
+            this.limit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (inFlight >= (int) limit) {
+                rejected++;
+                return false;
+            }
+            inFlight++;
+            admitted++;
+            return true;
+        }
+
+        // Give the slot back without a latency sample
+        synchronized void cancel() {
+            inFlight--;
+        }
+
+        // Undo a tryAcquire whose order was then turned away elsewhere
+        synchronized void cancelRejected() {
+            inFlight--;
+            admitted--;
+            rejected++;
+        }
+
+        synchronized void release(long latencyNanos, boolean success) {
+            // Latency only says something about this limit if the limit was actually being used
+            boolean utilised = inFlight >= limit / 2;
+            inFlight--;
+            completed++;
+            avgLatencyNanos = avgLatencyNanos == 0 ? latencyNanos : avgLatencyNanos + LATENCY_ALPHA * (latencyNanos - avgLatencyNanos);
+
+            if (++samplesSinceMinReset > MIN_LATENCY_WINDOW) {
+                minLatencyNanos = Long.MAX_VALUE;
+                samplesSinceMinReset = 0;
+            }
+            minLatencyNanos = Math.min(minLatencyNanos, latencyNanos);
+
+            if (!success) {
+                failed++;
+            }
+            if (!utilised) {
+                return;
+            }
+            if (!success || latencyNanos > minLatencyNanos * LATENCY_TOLERANCE) {
+                if (completed >= nextDecreaseAt) {
+                    limit = Math.max(minLimit, limit * BACKOFF);
+                    nextDecreaseAt = completed + (long) limit;
+                }
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+
+        synchronized boolean isFull() {
+            return inFlight >= (int) limit;
+        }
+
+        synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        synchronized long getOffered() {
+            return admitted + rejected;
+        }
+
+        synchronized long getRejected() {
+            return rejected;
+        }
+
+        synchronized double getRejectionRate() {
+            long offered = admitted + rejected;
+            return offered == 0 ? 0.0 : (double) rejected / offered;
+        }
+
+        synchronized long retryAfterMillis() {
+            return (long) (avgLatencyNanos / 1_000_000 / Math.max(1.0, limit));
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%s: in flight %d / limit %d, admitted %d, rejected %d (%.1f%%), completed %d (%d failed), avg latency %.0f ms",
+                    name, inFlight, (int) limit, admitted, rejected, 100.0 * getRejectionRate(),
+                    completed, failed, avgLatencyNanos / 1_000_000);
+        }
+    }
+}
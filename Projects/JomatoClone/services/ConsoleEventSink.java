@@ -0,0 +1,63 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.enums.OrderEventType;
+import Projects.ZomatoClone.enums.OrderStatus;
+
+// Human-readable console output, as the demo prints it. System.out is
+// synchronized, so this sink is for demos, not for high order rates.
+public class ConsoleEventSink implements OrderEventSink {
+    @Override
+    public void emit(OrderEventType type, long orderId, OrderStatus from, OrderStatus to, long value, String detail) {
+        switch (type) {
+            case STATUS_CHANGED:
+                System.out.println("📦 Order #" + orderId + " status: " + from + " → " + to);
+                break;
+            case PREPARATION_STARTED:
+                System.out.println("👨‍🍳 FoodManager started preparing food for Order#" + orderId);
+                break;
+            case PREPARATION_SCHEDULED:
+                System.out.printf("🕒 Order #%d predicted ready at %s in %.1f s%n", orderId, detail, value / 1000.0);
+                break;
+            case BATCH_STARTED:
+                System.out.println("🥘 Order #" + orderId + ": preparing " + value + " x " + detail + "...");
+                break;
+            case FOOD_PREPARED:
+                System.out.println("✅ Food prepared for Order #" + orderId);
+                break;
+            case PREPARATION_FAILED:
+                System.out.println("❌ Food preparation failed for Order #" + orderId);
+                break;
+            case DELIVERY_STARTED:
+                System.out.println("🚚 DeliveryManager managing delivery for Order#" + orderId);
+                break;
+            case DELIVERY_REJECTED:
+                System.out.println("❌ Delivery assignment failed: Incomplete order information.");
+                break;
+            case RIDER_SEARCH:
+                System.out.println("📍 Finding nearest rider for order #" + orderId + " (" + detail + ")...");
+                break;
+            case RIDER_ASSIGNED:
+                System.out.println("🚲 Rider " + detail + " assigned to order " + orderId
+                        + (value > 0 ? " (batch of " + value + ")" : ""));
+                break;
+            case NO_RIDER_AVAILABLE:
+                System.out.println("❌ No available riders for order #" + orderId);
+                break;
+            case RIDER_RETRY_SCHEDULED:
+                System.out.printf("🔁 Retrying rider search for order #%d in %.1f s%n", orderId, value / 1000.0);
+                break;
+            case ETA_ESTIMATED:
+                System.out.printf("⏱️ ETA for order #%d: delivered in %.1f min%n", orderId, value / 60000.0);
+                break;
+            case ORDER_SPLIT:
+                System.out.println("🧩 Order #" + orderId + " split into " + value + " restaurant orders");
+                break;
+            case ORDER_FAILED:
+                System.out.println("⚠️ Order #" + orderId + " failed: "
+                        + (detail != null ? detail : value + " restaurant orders were not delivered"));
+                break;
+            default:
+                System.out.println(type + " order #" + orderId);
+        }
+    }
+}
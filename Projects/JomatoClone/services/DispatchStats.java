@@ -0,0 +1,64 @@
+package Projects.ZomatoClone.service;
+
+import java.util.Arrays;
+
+// Running record of rider -> restaurant pickup distances for one dispatch mode.
+// Distances are counted in metres in LatencyHistogram's log-linear buckets
+// (exact below 32 m, within ~3% above), so memory stays fixed however many
+// pickups are recorded and a percentile is one pass over the buckets.
+public class DispatchStats {
+    private final String label;
+    private final long[] countsByBucket = new long[LatencyHistogram.BUCKETS];
+    private int count;
+    private double totalKm;
+    private long maxMetres;
+
+    public DispatchStats(String label) {
+        this.label = label;
+    }
+
+    public synchronized void record(double pickupDistanceKm) {
+        long metres = Math.max(0, Math.round(pickupDistanceKm * 1000));
+        countsByBucket[LatencyHistogram.bucketOf(Math.min(metres, LatencyHistogram.MAX_MICROS))]++;
+        count++;
+        totalKm += pickupDistanceKm;
+        maxMetres = Math.max(maxMetres, metres);
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized double getTotalKm() {
+        return totalKm;
+    }
+
+    public synchronized double percentileKm(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < countsByBucket.length; i++) {
+            seen += countsByBucket[i];
+            if (seen >= rank) {
+                // Never report more than the longest pickup actually recorded
+                return Math.min(LatencyHistogram.valueOf(i), maxMetres) / 1000.0;
+            }
+        }
+        return maxMetres / 1000.0;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(countsByBucket, 0);
+        count = 0;
+        totalKm = 0;
+        maxMetres = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d pickups, total %.2f km, p99 %.2f km",
+                label, getCount(), getTotalKm(), percentileKm(99));
+    }
+}
@@ -4,4 +4,16 @@ import Projects.ZomatoClone.models.Location;
 
 public interface DistanceStrategy {
     double calculateDistance(Location start, Location end);
+
+    // Batch form: distances from origin to `count` points packed as
+    // [lat0, lon0, lat1, lon1, ...] in degrees, written into out[0..count).
+    // Strategies override this with a tight primitive loop; the default reuses one scratch Location.
+    default void calculateDistances(Location origin, double[] packedLatLon, int count, double[] out) {
+        Location scratch = new Location(0, 0);
+        for (int i = 0; i < count; i++) {
+            scratch.setLatitude(packedLatLon[2 * i]);
+            scratch.setLongitude(packedLatLon[2 * i + 1]);
+            out[i] = calculateDistance(origin, scratch);
+        }
+    }
 }
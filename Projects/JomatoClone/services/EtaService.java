@@ -0,0 +1,159 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.models.Location;
+import Projects.ZomatoClone.strategies.HaversineDistanceStrategy;
+
+// Travel-time estimates from a zone-to-zone matrix.
+// The city bounding box is cut into square zones; the matrix holds the travel
+// time between every pair of zones, so an estimate is two zone lookups and an
+// array read. Each cell starts from a road-distance prior and is replaced by an
+// EWMA of the trips actually completed between those zones. Pairs nobody has
+// driven yet use the prior scaled by the city-wide observed/prior ratio.
+public class EtaService {
+    private static final double KM_PER_DEGREE = 111.32;
+    // Roads are longer than the straight line between two points
+    private static final double ROAD_FACTOR = 1.3;
+    private static final double DEFAULT_SPEED_KMH = 20.0;
+    private static final double PAIR_ALPHA = 0.2;
+    private static final double CITY_ALPHA = 0.05;
+    private static final int MAX_ZONES = 4096;
+
+    private static final EtaService instance = new EtaService();
+
+    private final HaversineDistanceStrategy haversine = new HaversineDistanceStrategy();
+
+    private volatile ZoneMatrix matrix;
+    // Observed / prior travel time over all trips; applied to pairs without observations
+    private volatile double cityFactor = 1.0;
+    private long observedTrips;
+
+    private EtaService() {
+        // Default area: the metro the demo runs in, 2 km zones
+        configure(22.30, 88.10, 22.90, 88.70, 2.0);
+    }
+
+    public static EtaService getInstance() {
+        return instance;
+    }
+
+    // ✅ Rebuild the zones for a new city box; learned travel times are discarded
+    public synchronized void configure(double minLat, double minLon, double maxLat, double maxLon, double zoneSizeKm) {
+        ZoneMatrix next = new ZoneMatrix(minLat, minLon, maxLat, maxLon, zoneSizeKm);
+        if ((long) next.zoneCount * next.zoneCount > (long) MAX_ZONES * MAX_ZONES) {
+            throw new IllegalArgumentException("Too many zones (" + next.zoneCount + "); use larger zones or a smaller area");
+        }
+        next.fillPriors();
+        this.matrix = next;
+        this.cityFactor = 1.0;
+        this.observedTrips = 0;
+    }
+
+    // ✅ O(1): expected travel time between two points
+    public long travelMillis(Location from, Location to) {
+        ZoneMatrix m = matrix;
+        int fromZone = m.zoneOf(from);
+        int toZone = m.zoneOf(to);
+        if (fromZone < 0 || toZone < 0) {
+            // Outside the box: straight-line prior
+            return (long) (priorSeconds(haversine.calculateDistance(from, to)) * cityFactor * 1000);
+        }
+        int cell = fromZone * m.zoneCount + toZone;
+        float learned = m.learnedSeconds[cell];
+        double seconds = learned > 0 ? learned : m.priorSeconds[cell] * cityFactor;
+        return (long) (seconds * 1000);
+    }
+
+    // ✅ Rider -> restaurant -> customer
+    public long deliveryMillis(Location rider, Location restaurant, Location customer) {
+        return travelMillis(rider, restaurant) + travelMillis(restaurant, customer);
+    }
+
+    // ✅ Feed back a completed leg; updates that zone pair and the city-wide factor
+    public synchronized void recordTrip(Location from, Location to, long actualMillis) {
+        double actual = Math.max(1.0, actualMillis / 1000.0);
+        ZoneMatrix m = matrix;
+        int fromZone = m.zoneOf(from);
+        int toZone = m.zoneOf(to);
+
+        double prior;
+        if (fromZone < 0 || toZone < 0) {
+            prior = priorSeconds(haversine.calculateDistance(from, to));
+        } else {
+            int cell = fromZone * m.zoneCount + toZone;
+            prior = m.priorSeconds[cell];
+            float learned = m.learnedSeconds[cell];
+            m.learnedSeconds[cell] = (float) (learned > 0 ? learned + PAIR_ALPHA * (actual - learned) : actual);
+        }
+
+        double ratio = Math.max(0.25, Math.min(4.0, actual / prior));
+        cityFactor = observedTrips == 0 ? ratio : cityFactor + CITY_ALPHA * (ratio - cityFactor);
+        observedTrips++;
+    }
+
+    public double getCityFactor() {
+        return cityFactor;
+    }
+
+    public synchronized long getObservedTrips() {
+        return observedTrips;
+    }
+
+    private static double priorSeconds(double distanceKm) {
+        return distanceKm * ROAD_FACTOR / DEFAULT_SPEED_KMH * 3600;
+    }
+
+    private class ZoneMatrix {
+        final double minLat;
+        final double minLon;
+        final double zoneLatDeg;
+        final double zoneLonDeg;
+        final double zoneSizeKm;
+        final int rows;
+        final int cols;
+        final int zoneCount;
+        // [fromZone * zoneCount + toZone], seconds; learned 0 = no trip seen yet
+        float[] priorSeconds;
+        float[] learnedSeconds;
+
+        ZoneMatrix(double minLat, double minLon, double maxLat, double maxLon, double zoneSizeKm) {
+            if (zoneSizeKm <= 0 || maxLat <= minLat || maxLon <= minLon) {
+                throw new IllegalArgumentException("Invalid ETA zone box");
+            }
+            this.minLat = minLat;
+            this.minLon = minLon;
+            this.zoneSizeKm = zoneSizeKm;
+            this.zoneLatDeg = zoneSizeKm / KM_PER_DEGREE;
+            this.zoneLonDeg = zoneSizeKm / (KM_PER_DEGREE * Math.cos(Math.toRadians((minLat + maxLat) / 2)));
+            this.rows = (int) Math.ceil((maxLat - minLat) / zoneLatDeg);
+            this.cols = (int) Math.ceil((maxLon - minLon) / zoneLonDeg);
+            this.zoneCount = rows * cols;
+        }
+
+        void fillPriors() {
+            priorSeconds = new float[zoneCount * zoneCount];
+            learnedSeconds = new float[zoneCount * zoneCount];
+            Location[] centres = new Location[zoneCount];
+            for (int z = 0; z < zoneCount; z++) {
+                centres[z] = new Location(minLat + (z / cols + 0.5) * zoneLatDeg, minLon + (z % cols + 0.5) * zoneLonDeg);
+            }
+            for (int i = 0; i < zoneCount; i++) {
+                for (int j = i; j < zoneCount; j++) {
+                    // Trips inside one zone average about half a zone
+                    double km = i == j ? zoneSizeKm / 2 : haversine.calculateDistance(centres[i], centres[j]);
+                    float seconds = (float) priorSeconds(km);
+                    priorSeconds[i * zoneCount + j] = seconds;
+                    priorSeconds[j * zoneCount + i] = seconds;
+                }
+            }
+        }
+
+        int zoneOf(Location location) {
+            int row = (int) Math.floor((location.getLatitude() - minLat) / zoneLatDeg);
+            int col = (int) Math.floor((location.getLongitude() - minLon) / zoneLonDeg);
+            if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                return -1;
+            }
+            return row * cols + col;
+        }
+    }
+}
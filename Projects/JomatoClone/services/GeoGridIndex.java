@@ -0,0 +1,284 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.models.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+// Uniform lat/lon grid. Each item lives in exactly one cell, so moving an item
+// touches two cells and a nearest-neighbour query only visits the rings of
+// cells around the origin instead of every item.
+public class GeoGridIndex<T> {
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double MIN_COS_LAT = 0.01;
+
+    private final double cellSizeDeg;
+    private final Map<Long, Set<T>> cells = new ConcurrentHashMap<>();
+    private final Map<T, Long> cellOfItem = new ConcurrentHashMap<>();
+
+    // Bounding box of every cell occupied since the last clear(), used to stop ring expansion
+    private volatile int minLatIdx = Integer.MAX_VALUE;
+    private volatile int maxLatIdx = Integer.MIN_VALUE;
+    private volatile int minLonIdx = Integer.MAX_VALUE;
+    private volatile int maxLonIdx = Integer.MIN_VALUE;
+
+    public GeoGridIndex(double cellSizeKm) {
+        if (cellSizeKm <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellSizeDeg = cellSizeKm / KM_PER_DEGREE;
+    }
+
+    // ✅ Insert a new item or move an existing one to its new cell.
+    // compute() holds the item's entry lock, so puts and removes of one item run
+    // one at a time and the item is never left behind in a cell it has moved out of.
+    public void put(T item, double latitude, double longitude) {
+        int latIdx = latIndex(latitude);
+        int lonIdx = lonIndex(longitude);
+        long newKey = key(latIdx, lonIdx);
+
+        // Most moves stay inside the cell: check before boxing a new key
+        Long current = cellOfItem.get(item);
+        if (current != null && current == newKey) {
+            return;
+        }
+        cellOfItem.compute(item, (k, oldKey) -> {
+            if (oldKey != null && oldKey == newKey) {
+                return oldKey;
+            }
+            if (oldKey != null) {
+                removeFromCell(oldKey, item);
+            }
+            addToCell(newKey, item);
+            return newKey;
+        });
+        growBounds(latIdx, lonIdx);
+    }
+
+    public void remove(T item) {
+        cellOfItem.computeIfPresent(item, (k, oldKey) -> {
+            removeFromCell(oldKey, item);
+            return null;
+        });
+    }
+
+    public boolean contains(T item) {
+        return cellOfItem.containsKey(item);
+    }
+
+    public int size() {
+        return cellOfItem.size();
+    }
+
+    // Items put while clearing may survive it; the bounds are rebuilt from what is left
+    public void clear() {
+        for (T item : cellOfItem.keySet()) {
+            remove(item);
+        }
+        synchronized (this) {
+            minLatIdx = Integer.MAX_VALUE;
+            maxLatIdx = Integer.MIN_VALUE;
+            minLonIdx = Integer.MAX_VALUE;
+            maxLonIdx = Integer.MIN_VALUE;
+            for (long cellKey : cells.keySet()) {
+                growBounds((int) (cellKey >> 32), (int) cellKey);
+            }
+        }
+    }
+
+    // ✅ k nearest items around origin, closest first.
+    // Rings of cells are visited outwards and the search stops as soon as no
+    // unvisited cell can hold anything closer than the current k-th best.
+    public List<Neighbor<T>> nearest(Location origin, int k, double maxRadiusKm,
+                                     Predicate<T> filter, ToDoubleFunction<T> distanceKm) {
+        if (k <= 0 || cellOfItem.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int originLat = latIndex(origin.getLatitude());
+        int originLon = lonIndex(origin.getLongitude());
+        double ringKm = minCellKm(origin.getLatitude());
+        int maxRing = maxRingToCover(originLat, originLon, maxRadiusKm, ringKm);
+
+        // max-heap on distance so the worst of the current k is evicted first
+        PriorityQueue<Neighbor<T>> best = new PriorityQueue<>(
+                k + 1, (a, b) -> Double.compare(b.distanceKm, a.distanceKm));
+        int total = cellOfItem.size();
+        int seen = 0;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            seen += scanRing(originLat, originLon, ring, k, maxRadiusKm, filter, distanceKm, best);
+
+            // anything outside this ring is at least ring * cell width away
+            double unseenLowerBound = ring * ringKm;
+            if (best.size() == k && best.peek().distanceKm <= unseenLowerBound) {
+                break;
+            }
+            if (seen >= total || unseenLowerBound > maxRadiusKm) {
+                break;
+            }
+        }
+        return sortedAscending(best);
+    }
+
+    // ✅ All items within radiusKm of origin, closest first
+    public List<Neighbor<T>> within(Location origin, double radiusKm,
+                                    Predicate<T> filter, ToDoubleFunction<T> distanceKm) {
+        if (cellOfItem.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int originLat = latIndex(origin.getLatitude());
+        int originLon = lonIndex(origin.getLongitude());
+        double ringKm = minCellKm(origin.getLatitude());
+        int maxRing = maxRingToCover(originLat, originLon, radiusKm, ringKm);
+
+        List<Neighbor<T>> result = new ArrayList<>();
+        for (int ring = 0; ring <= maxRing; ring++) {
+            forEachCellOnRing(originLat, originLon, ring, items -> {
+                for (T item : items) {
+                    if (filter != null && !filter.test(item)) continue;
+                    double d = distanceKm.applyAsDouble(item);
+                    if (d <= radiusKm) {
+                        result.add(new Neighbor<>(item, d));
+                    }
+                }
+            });
+            if (ring * ringKm > radiusKm) {
+                break;
+            }
+        }
+        result.sort((a, b) -> Double.compare(a.distanceKm, b.distanceKm));
+        return result;
+    }
+
+    private int scanRing(int originLat, int originLon, int ring, int k, double maxRadiusKm,
+                         Predicate<T> filter, ToDoubleFunction<T> distanceKm,
+                         PriorityQueue<Neighbor<T>> best) {
+        int[] seen = new int[1];
+        forEachCellOnRing(originLat, originLon, ring, items -> {
+            for (T item : items) {
+                seen[0]++;
+                if (filter != null && !filter.test(item)) continue;
+                double d = distanceKm.applyAsDouble(item);
+                if (d > maxRadiusKm) continue;
+                if (best.size() < k) {
+                    best.add(new Neighbor<>(item, d));
+                } else if (d < best.peek().distanceKm) {
+                    best.poll();
+                    best.add(new Neighbor<>(item, d));
+                }
+            }
+        });
+        return seen[0];
+    }
+
+    // Visits only the perimeter cells of the square ring at Chebyshev distance `ring`
+    private void forEachCellOnRing(int originLat, int originLon, int ring,
+                                   Consumer<Set<T>> visitor) {
+        if (ring == 0) {
+            visitCell(originLat, originLon, visitor);
+            return;
+        }
+        for (int dLon = -ring; dLon <= ring; dLon++) {
+            visitCell(originLat - ring, originLon + dLon, visitor);
+            visitCell(originLat + ring, originLon + dLon, visitor);
+        }
+        for (int dLat = -ring + 1; dLat <= ring - 1; dLat++) {
+            visitCell(originLat + dLat, originLon - ring, visitor);
+            visitCell(originLat + dLat, originLon + ring, visitor);
+        }
+    }
+
+    private void visitCell(int latIdx, int lonIdx, Consumer<Set<T>> visitor) {
+        Set<T> items = cells.get(key(latIdx, lonIdx));
+        if (items != null && !items.isEmpty()) {
+            visitor.accept(items);
+        }
+    }
+
+    private int maxRingToCover(int originLat, int originLon, double radiusKm, double ringKm) {
+        int toBounds = Math.max(
+                Math.max(Math.abs(originLat - minLatIdx), Math.abs(maxLatIdx - originLat)),
+                Math.max(Math.abs(originLon - minLonIdx), Math.abs(maxLonIdx - originLon)));
+        double byRadius = Math.ceil(radiusKm / ringKm) + 1;
+        return (int) Math.min(toBounds, byRadius);
+    }
+
+    // Cells are created and dropped under their own entry lock, so an empty cell
+    // is pruned without losing an item that is being added to it
+    private void addToCell(long cellKey, T item) {
+        cells.compute(cellKey, (k, items) -> {
+            if (items == null) {
+                items = ConcurrentHashMap.newKeySet();
+            }
+            items.add(item);
+            return items;
+        });
+    }
+
+    private void removeFromCell(long cellKey, T item) {
+        cells.computeIfPresent(cellKey, (k, items) -> {
+            items.remove(item);
+            return items.isEmpty() ? null : items;
+        });
+    }
+
+    private synchronized void growBounds(int latIdx, int lonIdx) {
+        if (latIdx < minLatIdx) minLatIdx = latIdx;
+        if (latIdx > maxLatIdx) maxLatIdx = latIdx;
+        if (lonIdx < minLonIdx) minLonIdx = lonIdx;
+        if (lonIdx > maxLonIdx) maxLonIdx = lonIdx;
+    }
+
+    // Longitude cells shrink towards the poles, so the narrower side bounds the ring width
+    private double minCellKm(double latitude) {
+        double cosLat = Math.max(MIN_COS_LAT, Math.cos(Math.toRadians(latitude)));
+        return cellSizeDeg * KM_PER_DEGREE * cosLat;
+    }
+
+    private int latIndex(double latitude) {
+        return (int) Math.floor(latitude / cellSizeDeg);
+    }
+
+    private int lonIndex(double longitude) {
+        return (int) Math.floor(longitude / cellSizeDeg);
+    }
+
+    private static long key(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    private static <T> List<Neighbor<T>> sortedAscending(PriorityQueue<Neighbor<T>> heap) {
+        List<Neighbor<T>> result = new ArrayList<>(heap);
+        result.sort((a, b) -> Double.compare(a.distanceKm, b.distanceKm));
+        return result;
+    }
+
+    // Query result: the item together with its distance from the query origin
+    public static class Neighbor<T> {
+        private final T item;
+        private final double distanceKm;
+
+        public Neighbor(T item, double distanceKm) {
+            this.item = item;
+            this.distanceKm = distanceKm;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package Projects.ZomatoClone.service;
+
+import java.util.Arrays;
+
+// Minimum-cost assignment of rows (orders) to columns (riders), O(n^2 * m).
+// Pairs that should never be matched carry a cost >= FORBIDDEN; rows left
+// with such a pair are reported as unmatched.
+public class HungarianMatcher {
+    public static final double FORBIDDEN = 1e9;
+
+    private HungarianMatcher() {
+    }
+
+    // ✅ Returns, for every row, the matched column index or -1
+    public static int[] solve(double[][] cost, int rows, int cols) {
+        int[] rowToCol = new int[rows];
+        Arrays.fill(rowToCol, -1);
+        if (rows == 0 || cols == 0) {
+            return rowToCol;
+        }
+
+        // Pad with dummy FORBIDDEN columns so every row can be placed
+        int m = Math.max(rows, cols);
+        int n = rows;
+
+        // 1-based potentials formulation; colOwner[j] = row matched to column j
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] colOwner = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minSlack = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            colOwner[0] = i;
+            int j0 = 0;
+            Arrays.fill(minSlack, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = colOwner[j0];
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) continue;
+                    double c = (j <= cols) ? cost[i0 - 1][j - 1] : FORBIDDEN;
+                    double cur = c - u[i0] - v[j];
+                    if (cur < minSlack[j]) {
+                        minSlack[j] = cur;
+                        way[j] = j0;
+                    }
+                    if (minSlack[j] < delta) {
+                        delta = minSlack[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[colOwner[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minSlack[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (colOwner[j0] != 0);
+
+            do {
+                int j1 = way[j0];
+                colOwner[j0] = colOwner[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        for (int j = 1; j <= cols; j++) {
+            int row = colOwner[j];
+            if (row != 0 && cost[row - 1][j - 1] < FORBIDDEN) {
+                rowToCol[row - 1] = j - 1;
+            }
+        }
+        return rowToCol;
+    }
+}
@@ -0,0 +1,233 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.enums.OrderEventType;
+import Projects.ZomatoClone.models.Dish;
+import Projects.ZomatoClone.models.Order;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// One restaurant's kitchen: N stations working in parallel on batches.
+// A batch is up to MAX_BATCH_PORTIONS portions of one dish, cooked in that
+// dish's prep time; identical dishes from concurrent orders join the same
+// batch while it is still waiting. Batches start in arrival order on the
+// first free station. Cooking is a timer, so no thread waits on the stove.
+public class KitchenScheduler {
+    // Portions of one dish a station can cook at once (one tandoor load, one fryer basket, ...)
+    private static final int MAX_BATCH_PORTIONS = 4;
+    private static final int DEFAULT_STATIONS = 2;
+    private static final long DEFAULT_MAX_BACKLOG_MS = 60_000;
+
+    private final String restaurantName;
+    // Maps an ordered Dish to the menu's own Dish, which carries the prep time
+    private final Function<Dish, Dish> menuLookup;
+
+    // Guarded by this
+    private int stations;
+    private final ArrayDeque<Integer> freeStations = new ArrayDeque<>();
+    private final List<Batch> running = new ArrayList<>();
+    private final ArrayDeque<Batch> waiting = new ArrayDeque<>();
+    // Last waiting batch per dish that still has room
+    private final Map<Dish, Batch> openBatchByDish = new HashMap<>();
+
+    private volatile long maxBacklogMillis = DEFAULT_MAX_BACKLOG_MS;
+
+    public KitchenScheduler(String restaurantName, Function<Dish, Dish> menuLookup) {
+        this.restaurantName = restaurantName;
+        this.menuLookup = menuLookup;
+        setStations(DEFAULT_STATIONS);
+    }
+
+    // ✅ Change the number of stations; running batches are not interrupted
+    public synchronized void setStations(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("A kitchen needs at least one station");
+        }
+        for (int id = stations + 1; id <= count; id++) {
+            if (!isBusy(id)) {
+                freeStations.add(id);
+            }
+        }
+        // Removed stations are retired when they next come free
+        freeStations.removeIf(id -> id > count);
+        this.stations = count;
+        startWaitingBatches();
+    }
+
+    public synchronized int getStations() {
+        return stations;
+    }
+
+    // Orders are refused while the predicted backlog is above this
+    public void setMaxBacklogMillis(long maxBacklogMillis) {
+        this.maxBacklogMillis = maxBacklogMillis;
+    }
+
+    public long getMaxBacklogMillis() {
+        return maxBacklogMillis;
+    }
+
+    // ✅ Queue an order's dishes; completes with true once every portion is cooked
+    public CompletableFuture<Boolean> submit(Order order, Map<Dish, Integer> dishes) {
+        Ticket ticket = new Ticket(order);
+        long readyAt;
+        synchronized (this) {
+            for (Map.Entry<Dish, Integer> entry : dishes.entrySet()) {
+                Dish dish = resolve(entry.getKey());
+                int quantity = entry.getValue();
+                while (quantity > 0) {
+                    Batch batch = openBatchByDish.get(dish);
+                    if (batch == null || batch.portions == MAX_BATCH_PORTIONS) {
+                        batch = new Batch(dish);
+                        waiting.add(batch);
+                        openBatchByDish.put(dish, batch);
+                    }
+                    int take = Math.min(quantity, MAX_BATCH_PORTIONS - batch.portions);
+                    batch.add(ticket, take);
+                    ticket.pendingBatches++;
+                    quantity -= take;
+                }
+            }
+            if (ticket.pendingBatches == 0) {
+                return CompletableFuture.completedFuture(true);
+            }
+            readyAt = simulate(ticket);
+            startWaitingBatches();
+        }
+        order.setPredictedReadyAtMillis(readyAt);
+        OrderEventLog.getInstance().emit(OrderEventType.PREPARATION_SCHEDULED, order.getOrderId(),
+                readyAt - System.currentTimeMillis(), restaurantName);
+        return ticket.ready;
+    }
+
+    // ✅ How long until everything already queued is cooked
+    public synchronized long predictedBacklogMillis() {
+        return Math.max(0, simulate(null) - System.currentTimeMillis());
+    }
+
+    public synchronized int getQueuedBatches() {
+        return waiting.size();
+    }
+
+    // Start waiting batches on free stations, oldest first
+    private void startWaitingBatches() {
+        PipelineScheduler scheduler = PipelineScheduler.getInstance();
+        OrderEventLog events = OrderEventLog.getInstance();
+        while (!freeStations.isEmpty() && !waiting.isEmpty()) {
+            Batch batch = waiting.poll();
+            openBatchByDish.remove(batch.dish, batch);
+            batch.station = freeStations.poll();
+            batch.endsAt = System.currentTimeMillis() + batch.dish.getPrepTimeMillis();
+            running.add(batch);
+
+            for (Ticket ticket : batch.tickets) {
+                events.emit(OrderEventType.BATCH_STARTED, ticket.order.getOrderId(), batch.portions, batch.dish.getName());
+            }
+            scheduler.delay(batch.dish.getPrepTimeMillis()).thenRun(() -> finish(batch));
+        }
+    }
+
+    private void finish(Batch batch) {
+        List<Ticket> done = new ArrayList<>();
+        synchronized (this) {
+            running.remove(batch);
+            if (batch.station <= stations) {
+                freeStations.add(batch.station);
+            }
+            for (Ticket ticket : batch.tickets) {
+                if (--ticket.pendingBatches == 0) {
+                    done.add(ticket);
+                }
+            }
+            startWaitingBatches();
+        }
+        for (Ticket ticket : done) {
+            ticket.ready.complete(true);
+        }
+    }
+
+    // Replays the queue on the stations' free times. Returns when `target` is ready,
+    // or when everything is done if target is null. O(batches x stations).
+    private long simulate(Ticket target) {
+        long now = System.currentTimeMillis();
+        long[] freeAt = new long[stations];
+        int i = 0;
+        for (Batch batch : running) {
+            if (i < freeAt.length) freeAt[i++] = Math.max(now, batch.endsAt);
+        }
+        for (; i < freeAt.length; i++) {
+            freeAt[i] = now;
+        }
+
+        long allDone = now;
+        for (Batch batch : running) {
+            allDone = Math.max(allDone, batch.endsAt);
+        }
+        long targetReady = now;
+        for (Batch batch : waiting) {
+            int s = 0;
+            for (int j = 1; j < freeAt.length; j++) {
+                if (freeAt[j] < freeAt[s]) s = j;
+            }
+            freeAt[s] += batch.dish.getPrepTimeMillis();
+            allDone = Math.max(allDone, freeAt[s]);
+            if (target != null && batch.tickets.contains(target)) {
+                targetReady = Math.max(targetReady, freeAt[s]);
+            }
+        }
+        if (target == null) {
+            return allDone;
+        }
+        // Portions that joined a batch that is already cooking
+        for (Batch batch : running) {
+            if (batch.tickets.contains(target)) {
+                targetReady = Math.max(targetReady, batch.endsAt);
+            }
+        }
+        return targetReady;
+    }
+
+    private boolean isBusy(int station) {
+        for (Batch batch : running) {
+            if (batch.station == station) return true;
+        }
+        return false;
+    }
+
+    private Dish resolve(Dish ordered) {
+        Dish onMenu = menuLookup == null ? null : menuLookup.apply(ordered);
+        return onMenu != null ? onMenu : ordered;
+    }
+
+    private static class Ticket {
+        final Order order;
+        final CompletableFuture<Boolean> ready = new CompletableFuture<>();
+        int pendingBatches;
+
+        Ticket(Order order) {
+            this.order = order;
+        }
+    }
+
+    private static class Batch {
+        final Dish dish;
+        final List<Ticket> tickets = new ArrayList<>(2);
+        int portions;
+        int station;
+        long endsAt;
+
+        Batch(Dish dish) {
+            this.dish = dish;
+        }
+
+        void add(Ticket ticket, int quantity) {
+            tickets.add(ticket);
+            portions += quantity;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package Projects.ZomatoClone.service;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// HDR-style latency histogram in microseconds. Buckets are log-linear: exact
+// below 32 µs, then 16 buckets per power of two, so any recorded value is
+// reported within ~3%, from 1 µs up to an hour, in 459 counters.
+// By default every thread increments one shared bucket array. With per-thread
+// recorders each recording thread gets its own array instead (single writer,
+// no CAS, ~3.6 KB per thread), folded back into the shared one once the thread
+// has exited. Count, sum and max are striped. Readers merge everything on demand.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;      // 16 per power of two
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;          // values below are exact
+    static final long MAX_MICROS = 3_600_000_000L;                    // one hour, larger values are clamped
+    static final int BUCKETS = bucketOf(MAX_MICROS) + 1;
+
+    // Null unless per-thread recorders were asked for
+    private final ThreadLocal<Recorder> recorder;
+    private final ConcurrentLinkedQueue<Recorder> recorders;
+    // Shared buckets; with per-thread recorders, the counts of threads that have exited
+    private final AtomicLongArray shared = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        this(false);
+    }
+
+    // Per-thread recorders avoid contended increments, at ~3.6 KB per recording thread:
+    // worth it for a few histograms that every thread records into, not for thousands
+    public LatencyHistogram(boolean perThreadRecorders) {
+        this.recorder = perThreadRecorders ? ThreadLocal.withInitial(this::newRecorder) : null;
+        this.recorders = perThreadRecorders ? new ConcurrentLinkedQueue<>() : null;
+    }
+
+    // ✅ Hot path: one bucket increment (plain if per-thread, atomic if shared), three striped updates
+    public void recordNanos(long nanos) {
+        long micros = Math.min(MAX_MICROS, Math.max(0, nanos / 1000));
+        int bucket = bucketOf(micros);
+        if (recorder != null) {
+            AtomicLongArray counts = recorder.get().counts;
+            // Only the owning thread writes this array, so get + lazySet is enough
+            counts.lazySet(bucket, counts.get(bucket) + 1);
+        } else {
+            shared.getAndIncrement(bucket);
+        }
+        count.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : sumMicros.sum() / 1000.0 / n;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    // ✅ Merged copy of the shared buckets and every live thread's
+    public Snapshot snapshot() {
+        long[] merged = new long[BUCKETS];
+        if (recorders != null) {
+            retireExitedRecorders();
+            for (Recorder r : recorders) {
+                addTo(merged, r.counts);
+            }
+        }
+        addTo(merged, shared);
+        long total = 0;
+        for (long c : merged) {
+            total += c;
+        }
+        return new Snapshot(merged, total, maxMicros.get());
+    }
+
+    // Counts recorded while resetting may survive it
+    public void reset() {
+        if (recorders != null) {
+            for (Recorder r : recorders) {
+                clear(r.counts);
+            }
+        }
+        clear(shared);
+        count.reset();
+        sumMicros.reset();
+        maxMicros.reset();
+    }
+
+    private Recorder newRecorder() {
+        retireExitedRecorders();
+        Recorder r = new Recorder(Thread.currentThread());
+        recorders.add(r);
+        return r;
+    }
+
+    // An exited thread writes no more, so its array is folded into the shared one and dropped.
+    // It leaves the queue before it is folded: a concurrent snapshot may miss it, never count it twice.
+    private void retireExitedRecorders() {
+        for (Recorder r : recorders) {
+            if (!r.owner.isAlive() && recorders.remove(r)) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    long c = r.counts.get(i);
+                    if (c != 0) {
+                        shared.getAndAdd(i, c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addTo(long[] merged, AtomicLongArray counts) {
+        for (int i = 0; i < BUCKETS; i++) {
+            merged[i] += counts.get(i);
+        }
+    }
+
+    private static void clear(AtomicLongArray counts) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (micros >>> shift) - SUB_BUCKETS;
+    }
+
+    // Middle of the bucket's value range
+    static long valueOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long low = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return low + ((1L << shift) >> 1);
+    }
+
+    private static final class Recorder {
+        final Thread owner;
+        final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        Recorder(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+    public static class Snapshot {
+        private final long[] counts;
+        private final long total;
+        private final long maxMicros;
+
+        private Snapshot(long[] counts, long total, long maxMicros) {
+            this.counts = counts;
+            this.total = total;
+            this.maxMicros = maxMicros;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        // ✅ Value at the given percentile (0-100), in milliseconds
+        public double percentileMillis(double percentile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    // Never report more than the largest value actually recorded
+                    return Math.min(valueOf(i), maxMicros) / 1000.0;
+                }
+            }
+            return maxMicros / 1000.0;
+        }
+    }
+}
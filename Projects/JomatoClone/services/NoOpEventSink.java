@@ -0,0 +1,11 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.enums.OrderEventType;
+import Projects.ZomatoClone.enums.OrderStatus;
+
+// Discards every event; for benchmarks and load tests
+public class NoOpEventSink implements OrderEventSink {
+    @Override
+    public void emit(OrderEventType type, long orderId, OrderStatus from, OrderStatus to, long value, String detail) {
+    }
+}
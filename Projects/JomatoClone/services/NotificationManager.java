@@ -1,19 +1,215 @@
 package Projects.ZomatoClone.service;
 
+import Projects.ZomatoClone.enums.NotificationChannel;
 import Projects.ZomatoClone.strategies.INotificationSender;
+import Projects.ZomatoClone.strategies.PushNotificationSender;
+import Projects.ZomatoClone.strategies.SMSNotificationSender;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Asynchronous notification fan-out. notifyUser only enqueues; each channel has
+// its own bounded queue and worker, so a slow SMS gateway never holds up an
+// order status change or the push channel.
 public class NotificationManager {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int MAX_BATCH = 64;
+    // How long a worker waits for more messages before sending what it has
+    private static final long BATCH_LINGER_MS = 5;
+
     private static final NotificationManager instance = new NotificationManager();
 
+    private final Map<NotificationChannel, ChannelWorker> workers = new EnumMap<>(NotificationChannel.class);
+
     private NotificationManager() {
+        workers.put(NotificationChannel.SMS, new ChannelWorker(NotificationChannel.SMS, new SMSNotificationSender()));
+        workers.put(NotificationChannel.PUSH, new ChannelWorker(NotificationChannel.PUSH, new PushNotificationSender()));
     }
 
     public static NotificationManager getInstance() {
         return instance;
     }
 
-    public void notifyUser(String userName, String message, INotificationSender sender) {
-        // Logic to send notification to the user
-        sender.sendNotification(userName, message);
+    // ✅ Fire-and-forget; returns false if the channel's queue is full and the message was dropped
+    public boolean notifyUser(String userName, String message, NotificationChannel channel) {
+        return workers.get(channel).enqueue(0, userName, message);
+    }
+
+    // ✅ Order status update: a newer update for the same order replaces one that is still queued,
+    // so the customer only gets the latest status
+    public boolean notifyOrderUpdate(long orderId, String userName, String message, NotificationChannel channel) {
+        return workers.get(channel).enqueue(orderId, userName, message);
+    }
+
+    // Swap the gateway behind a channel (e.g. a real SMS provider)
+    public void setSender(NotificationChannel channel, INotificationSender sender) {
+        workers.get(channel).sender = sender;
+    }
+
+    public int getQueueDepth(NotificationChannel channel) {
+        return workers.get(channel).queue.size();
+    }
+
+    // ✅ Waits until every queued message has been handed to its sender
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (ChannelWorker worker : workers.values()) {
+            while (worker.outstanding.get() > 0) {
+                if (System.currentTimeMillis() >= deadline) {
+                    return false;
+                }
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // ✅ Queue and delivery counters per channel
+    public void printNotificationReport() {
+        System.out.println("📊 Notification report");
+        for (ChannelWorker worker : workers.values()) {
+            System.out.println(" - " + worker.statsLine());
+        }
+    }
+
+    private static class Notification {
+        final long orderId; // 0 = not coalesced
+        final String userName;
+        volatile String message;
+
+        Notification(long orderId, String userName, String message) {
+            this.orderId = orderId;
+            this.userName = userName;
+            this.message = message;
+        }
+    }
+
+    private static class ChannelWorker implements Runnable {
+        private final NotificationChannel channel;
+        private volatile INotificationSender sender;
+        private final BlockingQueue<Notification> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        // Order updates still waiting in the queue, by order id
+        private final Map<Long, Notification> pendingByOrder = new ConcurrentHashMap<>();
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private final LongAdder enqueued = new LongAdder();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+
+        ChannelWorker(NotificationChannel channel, INotificationSender sender) {
+            this.channel = channel;
+            this.sender = sender;
+            Thread thread = new Thread(this, "notify-" + channel.name().toLowerCase());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        boolean enqueue(long orderId, String userName, String message) {
+            if (orderId != 0) {
+                // Replace the text of a queued update for this order instead of queueing another one
+                boolean[] merged = new boolean[1];
+                Notification n = pendingByOrder.compute(orderId, (id, queued) -> {
+                    if (queued != null) {
+                        queued.message = message;
+                        merged[0] = true;
+                        return queued;
+                    }
+                    return new Notification(id, userName, message);
+                });
+                if (merged[0]) {
+                    coalesced.increment();
+                    return true;
+                }
+                if (!offer(n)) {
+                    pendingByOrder.remove(orderId, n);
+                    return false;
+                }
+                return true;
+            }
+            return offer(new Notification(0, userName, message));
+        }
+
+        private boolean offer(Notification n) {
+            outstanding.incrementAndGet();
+            if (!queue.offer(n)) {
+                outstanding.decrementAndGet();
+                dropped.increment();
+                return false;
+            }
+            enqueued.increment();
+            maxDepth.accumulateAndGet(queue.size(), Math::max);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            List<Notification> batch = new ArrayList<>(MAX_BATCH);
+            while (true) {
+                try {
+                    batch.add(queue.take());
+                    long lingerUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BATCH_LINGER_MS);
+                    while (batch.size() < MAX_BATCH) {
+                        queue.drainTo(batch, MAX_BATCH - batch.size());
+                        long waitNanos = lingerUntil - System.nanoTime();
+                        if (batch.size() >= MAX_BATCH || waitNanos <= 0) break;
+                        Notification next = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+                        if (next == null) break;
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                deliver(batch);
+                outstanding.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+
+        // ✅ One sendBatch call per user, messages kept in arrival order
+        private void deliver(List<Notification> batch) {
+            Map<String, List<String>> byUser = new LinkedHashMap<>();
+            for (Notification n : batch) {
+                if (n.orderId != 0) {
+                    // From here on, a new update for this order gets its own queue slot
+                    pendingByOrder.remove(n.orderId, n);
+                }
+                byUser.computeIfAbsent(n.userName, u -> new ArrayList<>()).add(n.message);
+            }
+            INotificationSender target = sender;
+            for (Map.Entry<String, List<String>> entry : byUser.entrySet()) {
+                try {
+                    target.sendBatch(entry.getKey(), entry.getValue());
+                    sent.add(entry.getValue().size());
+                } catch (RuntimeException e) {
+                    failed.add(entry.getValue().size());
+                    System.out.println("⚠️ " + channel + " delivery to " + entry.getKey() + " failed: " + e.getMessage());
+                }
+            }
+            batches.increment();
+        }
+
+        String statsLine() {
+            return String.format("%s: %d queued, %d sent in %d batches, %d coalesced, %d dropped, %d failed, depth %d (max %d)",
+                    channel, enqueued.sum(), sent.sum(), batches.sum(), coalesced.sum(),
+                    dropped.sum(), failed.sum(), queue.size(), maxDepth.get());
+        }
     }
 }
@@ -0,0 +1,66 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.enums.OrderEventType;
+import Projects.ZomatoClone.enums.OrderStatus;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+// Where the order flow reports what it is doing. The sink is chosen with
+// -Dzomato.events=console (default) | none | file:<path>, or set in code.
+public class OrderEventLog {
+    private static final int RING_CAPACITY = 1 << 16;
+
+    private static final OrderEventLog instance = new OrderEventLog();
+
+    private volatile OrderEventSink sink;
+
+    private OrderEventLog() {
+        this.sink = sinkFromProperty(System.getProperty("zomato.events", "console"));
+    }
+
+    public static OrderEventLog getInstance() {
+        return instance;
+    }
+
+    public void emit(OrderEventType type, long orderId) {
+        sink.emit(type, orderId, null, null, 0, null);
+    }
+
+    public void emit(OrderEventType type, long orderId, long value, String detail) {
+        sink.emit(type, orderId, null, null, value, detail);
+    }
+
+    public void statusChanged(long orderId, OrderStatus from, OrderStatus to) {
+        sink.emit(OrderEventType.STATUS_CHANGED, orderId, from, to, 0, null);
+    }
+
+    // ✅ Swap the sink; the previous one is flushed and closed
+    public void setSink(OrderEventSink newSink) {
+        OrderEventSink old = this.sink;
+        this.sink = newSink;
+        if (old != newSink) {
+            old.close();
+        }
+    }
+
+    public OrderEventSink getSink() {
+        return sink;
+    }
+
+    private static OrderEventSink sinkFromProperty(String value) {
+        if (value.equals("none")) {
+            return new NoOpEventSink();
+        }
+        if (value.startsWith("file:")) {
+            try {
+                RingBufferEventSink ring = new RingBufferEventSink(Paths.get(value.substring("file:".length())), RING_CAPACITY);
+                Runtime.getRuntime().addShutdownHook(new Thread(ring::close, "order-events-close"));
+                return ring;
+            } catch (IOException e) {
+                System.out.println("⚠️ Cannot open order event file, logging to console: " + e.getMessage());
+            }
+        }
+        return new ConsoleEventSink();
+    }
+}
@@ -0,0 +1,15 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.enums.OrderEventType;
+import Projects.ZomatoClone.enums.OrderStatus;
+
+// Destination for order flow events. Arguments are primitives, enums and an
+// already existing String, so emitting an event builds no message and
+// allocates nothing; formatting is the sink's business.
+public interface OrderEventSink {
+    void emit(OrderEventType type, long orderId, OrderStatus from, OrderStatus to, long value, String detail);
+
+    // Flush whatever is buffered and release resources
+    default void close() {
+    }
+}
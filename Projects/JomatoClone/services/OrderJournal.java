@@ -0,0 +1,572 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.enums.OrderStatus;
+import Projects.ZomatoClone.models.Order;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only write-ahead log of order lifecycle events.
+// Every event is one fixed-size record in a memory-mapped segment file. A
+// background thread forces the dirty part of the segment every few ms, so all
+// events appended in that window share one fsync (group commit). Every few
+// segments the latest state per order is written as a compact snapshot and the
+// older segments are deleted. Delivered orders are left out of the snapshot and
+// dropped from memory once it is on disk, so only orders in flight are kept.
+// Opening a journal loads the newest snapshot and replays the segments written after it.
+public class OrderJournal {
+    // | orderId | restaurantId | riderId | totalPaise | timestampMs | status | crc |
+    private static final int RECORD_BYTES = 48;
+    private static final int CRC_OFFSET = 44;
+    private static final long SEGMENT_BYTES = 64L << 20;
+    private static final int RECORDS_PER_SEGMENT = (int) (SEGMENT_BYTES / RECORD_BYTES);
+    private static final long GROUP_COMMIT_MS = 5;
+    private static final int SEGMENTS_PER_SNAPSHOT = 4;
+
+    // | orderId | restaurantId | riderId | totalPaise | status |
+    private static final int SNAPSHOT_ENTRY_BYTES = 36;
+    private static final long SNAPSHOT_MAGIC = 0x4A4F5552534E4150L;
+    private static final int SNAPSHOT_FOOTER_BYTES = 12; // entry count + crc
+    private static final int IO_BUFFER_BYTES = 1 << 20;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final byte DELIVERED = (byte) OrderStatus.DELIVERED.ordinal();
+
+    private final Path dir;
+    private final OrderStateTable state = new OrderStateTable(1024);
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService snapshotter;
+
+    // Guarded by this
+    private FileChannel segmentChannel;
+    private MappedByteBuffer segment;
+    private int segmentNo;
+    private int recordsInSegment;
+    private int forcedRecords; // records of the current segment already handed to force()
+    private int segmentsSinceSnapshot;
+    private long appended;
+    private boolean closed;
+    private final byte[] scratch = new byte[RECORD_BYTES];
+    private final ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+    private final CRC32C crc = new CRC32C();
+    private final ArrayDeque<SyncWaiter> waiters = new ArrayDeque<>();
+
+    private volatile long durable;
+
+    // Recovery figures, for the startup log line
+    private long snapshotEntries;
+    private long replayedRecords;
+    private long recoveryMillis;
+
+    private OrderJournal(Path dir) {
+        this.dir = dir;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "order-journal-flush"));
+        this.snapshotter = Executors.newSingleThreadExecutor(r -> daemon(r, "order-journal-snapshot"));
+    }
+
+    // ✅ Recover whatever is in dir, then start a fresh segment for new events
+    public static OrderJournal open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        OrderJournal journal = new OrderJournal(dir);
+        journal.recover();
+        synchronized (journal) {
+            if (journal.segmentsSinceSnapshot >= SEGMENTS_PER_SNAPSHOT) {
+                // Long tail replayed: compact it now so the next start is quick
+                journal.segmentsSinceSnapshot = 0;
+                int replayFrom = journal.segmentNo;
+                journal.snapshotter.execute(() -> journal.writeSnapshot(replayFrom));
+            }
+        }
+        journal.flusher.scheduleWithFixedDelay(journal::groupCommit, GROUP_COMMIT_MS, GROUP_COMMIT_MS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "order-journal-close"));
+        return journal;
+    }
+
+    public void append(Order order) {
+        long restaurantId = order.getRestaurant() == null ? 0 : order.getRestaurant().getRestaurantId();
+        long riderId = order.getDeliveryMetaData() == null || order.getDeliveryMetaData().getAssignRider() == null
+                ? 0 : order.getDeliveryMetaData().getAssignRider().getRiderId();
+        append(order.getOrderId(), restaurantId, riderId, order.getTotalPaise(), order.getOrderStatus());
+    }
+
+    // ✅ Write one event into the mapped segment; it reaches disk with the next group commit
+    public synchronized void append(long orderId, long restaurantId, long riderId, long totalPaise, OrderStatus status) {
+        if (closed) {
+            throw new IllegalStateException("Order journal is closed");
+        }
+        if (recordsInSegment == RECORDS_PER_SEGMENT) {
+            try {
+                rollSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start a new journal segment", e);
+            }
+        }
+        scratchBuffer.clear();
+        scratchBuffer.putLong(orderId).putLong(restaurantId).putLong(riderId).putLong(totalPaise)
+                .putLong(System.currentTimeMillis()).putInt(status.ordinal());
+        crc.reset();
+        crc.update(scratch, 0, CRC_OFFSET);
+        scratchBuffer.putInt((int) crc.getValue());
+        segment.put(recordsInSegment * RECORD_BYTES, scratch);
+
+        recordsInSegment++;
+        appended++;
+        state.put(orderId, restaurantId, riderId, totalPaise, status);
+    }
+
+    // ✅ Completes once every event appended before this call is on disk
+    public synchronized CompletableFuture<Void> sync() {
+        if (durable >= appended) {
+            return CompletableFuture.completedFuture(null);
+        }
+        SyncWaiter waiter = new SyncWaiter(appended);
+        waiters.add(waiter);
+        return waiter.future;
+    }
+
+    // Latest journaled status of an order, including orders recovered from a previous run.
+    // Delivered orders are forgotten (null) once a snapshot has been written after delivery.
+    public OrderStatus lastStatus(long orderId) {
+        return state.status(orderId);
+    }
+
+    public int orderCount() {
+        return state.size();
+    }
+
+    public long getAppendedEvents() {
+        return appended;
+    }
+
+    public String recoverySummary() {
+        return String.format("Order journal recovered %d orders (%d from snapshot, %d log records replayed) in %d ms",
+                state.size(), snapshotEntries, replayedRecords, recoveryMillis);
+    }
+
+    // ✅ Force what is left and stop the background threads
+    public void close() {
+        MappedByteBuffer last;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            last = segment;
+        }
+        flusher.shutdown();
+        snapshotter.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+            snapshotter.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            last.force();
+            markDurable(appended);
+            try {
+                segmentChannel.close();
+            } catch (IOException e) {
+                System.out.println("⚠️ Could not close journal segment: " + e.getMessage());
+            }
+        }
+    }
+
+    // One force() per tick covers every record appended since the previous tick
+    private void groupCommit() {
+        MappedByteBuffer buffer;
+        int from;
+        int to;
+        long upTo;
+        synchronized (this) {
+            if (closed || durable == appended) {
+                return;
+            }
+            buffer = segment;
+            from = forcedRecords;
+            to = recordsInSegment;
+            upTo = appended;
+            forcedRecords = to;
+        }
+        if (to > from) {
+            buffer.force(from * RECORD_BYTES, (to - from) * RECORD_BYTES);
+        }
+        synchronized (this) {
+            markDurable(upTo);
+        }
+    }
+
+    private void markDurable(long upTo) {
+        if (upTo > durable) {
+            durable = upTo;
+        }
+        while (!waiters.isEmpty() && waiters.peek().lsn <= durable) {
+            waiters.poll().future.complete(null);
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        segment.force();
+        markDurable(appended);
+        segmentChannel.close();
+        openSegment(segmentNo + 1);
+
+        if (++segmentsSinceSnapshot >= SEGMENTS_PER_SNAPSHOT) {
+            segmentsSinceSnapshot = 0;
+            int replayFrom = segmentNo;
+            snapshotter.execute(() -> writeSnapshot(replayFrom));
+        }
+    }
+
+    private void openSegment(int number) throws IOException {
+        segmentChannel = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_BYTES);
+        segmentNo = number;
+        recordsInSegment = 0;
+        forcedRecords = 0;
+    }
+
+    // ✅ Fuzzy snapshot: the table is read while appends go on. Every change made after
+    // the snapshot started is in segment replayFrom or later, and records carry the
+    // full order state, so replaying those segments on top of the snapshot is exact.
+    private void writeSnapshot(int replayFrom) {
+        Path tmp = dir.resolve("snapshot-" + replayFrom + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_BYTES);
+            CRC32C checksum = new CRC32C();
+            buffer.putLong(SNAPSHOT_MAGIC);
+
+            OrderStateTable.Slots slots = state.slots;
+            long count = 0;
+            for (int i = 0; i < slots.keys.length; i++) {
+                long orderId = slots.keys[i];
+                if (orderId == 0 || slots.statuses[i] == DELIVERED) continue;
+                if (buffer.remaining() < SNAPSHOT_ENTRY_BYTES) {
+                    drain(out, buffer, checksum);
+                }
+                buffer.putLong(orderId).putLong(slots.restaurantIds[i]).putLong(slots.riderIds[i])
+                        .putLong(slots.totals[i]).putInt(slots.statuses[i]);
+                count++;
+            }
+            drain(out, buffer, checksum);
+            buffer.putLong(count).putInt((int) checksum.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        } catch (IOException e) {
+            System.out.println("⚠️ Order journal snapshot failed: " + e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(tmp, snapshotPath(replayFrom), StandardCopyOption.ATOMIC_MOVE);
+            // A delivered order's records are now either left out of the snapshot or in
+            // segments still to be replayed, so memory no longer needs to hold it
+            synchronized (this) {
+                state.dropDelivered();
+            }
+            // Older snapshots and segments are covered by the new snapshot now
+            for (int n : listNumbers("snapshot-", ".snap")) {
+                if (n < replayFrom) Files.deleteIfExists(snapshotPath(n));
+            }
+            for (int n : listNumbers("wal-", ".log")) {
+                if (n < replayFrom) Files.deleteIfExists(segmentPath(n));
+            }
+        } catch (IOException e) {
+            System.out.println("⚠️ Order journal cleanup failed: " + e.getMessage());
+        }
+    }
+
+    // The magic number is written before the checksum starts, so skip it on the first drain
+    private static void drain(FileChannel out, ByteBuffer buffer, CRC32C checksum) throws IOException {
+        buffer.flip();
+        int checksumFrom = out.position() == 0 ? Long.BYTES : 0;
+        checksum.update(buffer.array(), checksumFrom, buffer.limit() - checksumFrom);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        List<Integer> snapshots = listNumbers("snapshot-", ".snap");
+        List<Integer> segments = listNumbers("wal-", ".log");
+
+        // Newest snapshot that reads back cleanly; an older one still has its segments on disk
+        int replayFrom = 0;
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            if (loadSnapshot(snapshots.get(i))) {
+                replayFrom = snapshots.get(i);
+                break;
+            }
+        }
+
+        int next = replayFrom;
+        for (int n : segments) {
+            if (n < replayFrom) continue;
+            if (replaySegment(n) == 0) {
+                // Nothing was written to it, so reuse the number instead of piling up empty files
+                Files.delete(segmentPath(n));
+                next = Math.max(next, n);
+                continue;
+            }
+            segmentsSinceSnapshot++;
+            next = n + 1;
+        }
+        synchronized (this) {
+            openSegment(next);
+        }
+        recoveryMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private boolean loadSnapshot(int number) throws IOException {
+        Path path = snapshotPath(number);
+        long size = Files.size(path);
+        long body = size - Long.BYTES - SNAPSHOT_FOOTER_BYTES;
+        if (body < 0 || body % SNAPSHOT_ENTRY_BYTES != 0) {
+            System.out.println("⚠️ Ignoring truncated snapshot " + path.getFileName());
+            return false;
+        }
+
+        OrderStateTable loaded = new OrderStateTable((int) Math.min(Integer.MAX_VALUE / 2, body / SNAPSHOT_ENTRY_BYTES));
+        CRC32C checksum = new CRC32C();
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_BYTES - IO_BUFFER_BYTES % SNAPSHOT_ENTRY_BYTES);
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+            readFully(in, header, 0);
+            if (header.getLong(0) != SNAPSHOT_MAGIC) {
+                System.out.println("⚠️ Ignoring snapshot with bad header " + path.getFileName());
+                return false;
+            }
+            long position = Long.BYTES;
+            long end = Long.BYTES + body;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                readFully(in, buffer, position);
+                position += buffer.limit();
+                checksum.update(buffer.array(), 0, buffer.limit());
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    loaded.put(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), STATUSES[buffer.getInt()]);
+                }
+            }
+            ByteBuffer footer = ByteBuffer.allocate(SNAPSHOT_FOOTER_BYTES);
+            readFully(in, footer, end);
+            if (footer.getLong(0) * SNAPSHOT_ENTRY_BYTES != body || footer.getInt(Long.BYTES) != (int) checksum.getValue()) {
+                System.out.println("⚠️ Ignoring snapshot with bad checksum " + path.getFileName());
+                return false;
+            }
+        }
+        state.replaceWith(loaded);
+        snapshotEntries = loaded.size();
+        return true;
+    }
+
+    // Stops at the first empty or torn record: that is where the previous run stopped writing
+    private int replaySegment(int number) throws IOException {
+        int records = 0;
+        try (FileChannel in = FileChannel.open(segmentPath(number), StandardOpenOption.READ)) {
+            MappedByteBuffer log = in.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(in.size(), SEGMENT_BYTES));
+            CRC32C checksum = new CRC32C();
+            byte[] record = new byte[RECORD_BYTES];
+            ByteBuffer view = ByteBuffer.wrap(record);
+            for (int offset = 0; offset + RECORD_BYTES <= log.limit(); offset += RECORD_BYTES) {
+                log.get(offset, record);
+                long orderId = view.getLong(0);
+                if (orderId == 0) break;
+                checksum.reset();
+                checksum.update(record, 0, CRC_OFFSET);
+                if (view.getInt(CRC_OFFSET) != (int) checksum.getValue()) {
+                    System.out.println("⚠️ Torn record in " + segmentPath(number).getFileName() + " at offset " + offset + ", stopping replay of this segment");
+                    break;
+                }
+                state.put(orderId, view.getLong(8), view.getLong(16), view.getLong(24), STATUSES[view.getInt(40)]);
+                replayedRecords++;
+                records++;
+            }
+        }
+        return records;
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, position);
+            if (read < 0) throw new IOException("Unexpected end of file");
+            position += read;
+        }
+    }
+
+    private List<Integer> listNumbers(String prefix, String suffix) throws IOException {
+        List<Integer> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix) && name.endsWith(suffix)) {
+                    try {
+                        numbers.add(Integer.parseInt(name.substring(prefix.length(), name.length() - suffix.length())));
+                    } catch (NumberFormatException ignored) {
+                        // not one of ours
+                    }
+                }
+            });
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+
+    private Path segmentPath(int number) {
+        return dir.resolve("wal-" + number + ".log");
+    }
+
+    private Path snapshotPath(int number) {
+        return dir.resolve("snapshot-" + number + ".snap");
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static class SyncWaiter {
+        final long lsn;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        SyncWaiter(long lsn) {
+            this.lsn = lsn;
+        }
+    }
+
+    // Latest state per order in parallel primitive arrays (open addressing on the order id),
+    // about 37 bytes per slot instead of a boxed map entry per order. Written under the
+    // journal lock; a resize publishes a whole new set of arrays.
+    private static class OrderStateTable {
+        volatile Slots slots;
+        private int size;
+
+        OrderStateTable(int expected) {
+            this.slots = new Slots(capacityFor(expected));
+        }
+
+        void put(long orderId, long restaurantId, long riderId, long totalPaise, OrderStatus status) {
+            Slots s = slots;
+            int i = s.indexOf(orderId);
+            if (s.keys[i] == 0) {
+                if (size + 1 > s.keys.length * 3 / 4) {
+                    s = grow(s);
+                    i = s.indexOf(orderId);
+                }
+                s.keys[i] = orderId;
+                size++;
+            }
+            s.restaurantIds[i] = restaurantId;
+            s.riderIds[i] = riderId;
+            s.totals[i] = totalPaise;
+            s.statuses[i] = (byte) status.ordinal();
+        }
+
+        OrderStatus status(long orderId) {
+            Slots s = slots;
+            int i = s.indexOf(orderId);
+            return s.keys[i] == 0 ? null : STATUSES[s.statuses[i]];
+        }
+
+        int size() {
+            return size;
+        }
+
+        // Rebuilt without delivered orders and published in one write, like a resize
+        void dropDelivered() {
+            Slots old = slots;
+            int live = 0;
+            for (int j = 0; j < old.keys.length; j++) {
+                if (old.keys[j] != 0 && old.statuses[j] != DELIVERED) live++;
+            }
+            if (live == size) {
+                return;
+            }
+            Slots kept = new Slots(capacityFor(live));
+            for (int j = 0; j < old.keys.length; j++) {
+                if (old.keys[j] != 0 && old.statuses[j] != DELIVERED) copy(old, j, kept);
+            }
+            slots = kept;
+            size = live;
+        }
+
+        void replaceWith(OrderStateTable other) {
+            this.slots = other.slots;
+            this.size = other.size;
+        }
+
+        private Slots grow(Slots old) {
+            Slots bigger = new Slots(old.keys.length * 2);
+            for (int j = 0; j < old.keys.length; j++) {
+                if (old.keys[j] != 0) copy(old, j, bigger);
+            }
+            slots = bigger;
+            return bigger;
+        }
+
+        private static void copy(Slots from, int j, Slots to) {
+            int i = to.indexOf(from.keys[j]);
+            to.keys[i] = from.keys[j];
+            to.restaurantIds[i] = from.restaurantIds[j];
+            to.riderIds[i] = from.riderIds[j];
+            to.totals[i] = from.totals[j];
+            to.statuses[i] = from.statuses[j];
+        }
+
+        private static int capacityFor(int expected) {
+            return Integer.highestOneBit(Math.max(16, (int) (expected / 0.75f) + 1) - 1) << 1;
+        }
+
+        static class Slots {
+            final long[] keys; // 0 = empty; IDs are never 0
+            final long[] restaurantIds;
+            final long[] riderIds;
+            final long[] totals;
+            final byte[] statuses;
+
+            Slots(int capacity) {
+                keys = new long[capacity];
+                restaurantIds = new long[capacity];
+                riderIds = new long[capacity];
+                totals = new long[capacity];
+                statuses = new byte[capacity];
+            }
+
+            // Slot holding orderId, or the empty slot where it would go
+            int indexOf(long orderId) {
+                int mask = keys.length - 1;
+                int i = (int) ((orderId * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+                while (keys[i] != 0 && keys[i] != orderId) {
+                    i = (i + 1) & mask;
+                }
+                return i;
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.enums.OrderStatus;
+import Projects.ZomatoClone.models.Order;
+import Projects.ZomatoClone.models.Restaurant;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Where order latency is recorded: time spent in each status (per from -> to
+// transition), time to get a rider, and time to take payment, both overall
+// and per restaurant. Histograms are created on first use and never locked
+// on the recording path. Only the overall ones use per-thread recorders: the
+// per-restaurant ones share one bucket array each, so memory grows with
+// restaurants x stages and not also with threads. Disable with -Dzomato.metrics=off.
+public class OrderLatencyMetrics {
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int TRANSITIONS = STATUSES.length * STATUSES.length;
+    private static final int RIDER_ASSIGNMENT = TRANSITIONS;
+    private static final int PAYMENT = TRANSITIONS + 1;
+    private static final int STAGES = TRANSITIONS + 2;
+
+    private static final OrderLatencyMetrics instance = new OrderLatencyMetrics();
+
+    private final StageHistograms overall = new StageHistograms("All restaurants", true);
+    private final Map<Long, StageHistograms> byRestaurant = new ConcurrentHashMap<>();
+    private volatile boolean enabled = !"off".equals(System.getProperty("zomato.metrics"));
+
+    private OrderLatencyMetrics() {
+    }
+
+    public static OrderLatencyMetrics getInstance() {
+        return instance;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ✅ Order spent `nanos` in `from` before moving to `to`
+    public void recordTransition(Order order, OrderStatus from, OrderStatus to, long nanos) {
+        if (from != null && to != null) {
+            record(order, from.ordinal() * STATUSES.length + to.ordinal(), nanos);
+        }
+    }
+
+    // From asking for a rider to having one reserved (includes the batch window in BATCH mode)
+    public void recordRiderAssignment(Order order, long nanos) {
+        record(order, RIDER_ASSIGNMENT, nanos);
+    }
+
+    public void recordPayment(Order order, long nanos) {
+        record(order, PAYMENT, nanos);
+    }
+
+    // ✅ p50 / p99 / p999 of every stage seen so far, overall and then per restaurant
+    public void printLatencyReport() {
+        System.out.println("📊 Order latency report (ms)");
+        overall.print();
+        for (StageHistograms restaurant : byRestaurant.values()) {
+            restaurant.print();
+        }
+    }
+
+    public LatencyHistogram getTransitionHistogram(OrderStatus from, OrderStatus to) {
+        return overall.get(from.ordinal() * STATUSES.length + to.ordinal());
+    }
+
+    public LatencyHistogram getRiderAssignmentHistogram() {
+        return overall.get(RIDER_ASSIGNMENT);
+    }
+
+    public LatencyHistogram getPaymentHistogram() {
+        return overall.get(PAYMENT);
+    }
+
+    public void reset() {
+        overall.reset();
+        for (StageHistograms restaurant : byRestaurant.values()) {
+            restaurant.reset();
+        }
+    }
+
+    private void record(Order order, int stage, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        overall.getOrCreate(stage).recordNanos(nanos);
+        Restaurant restaurant = order.getRestaurant();
+        if (restaurant != null) {
+            StageHistograms local = byRestaurant.get(restaurant.getRestaurantId());
+            if (local == null) {
+                local = byRestaurant.computeIfAbsent(restaurant.getRestaurantId(), id -> new StageHistograms(restaurant.getName(), false));
+            }
+            local.getOrCreate(stage).recordNanos(nanos);
+        }
+    }
+
+    private static String stageName(int stage) {
+        if (stage == RIDER_ASSIGNMENT) {
+            return "rider assignment";
+        }
+        if (stage == PAYMENT) {
+            return "payment";
+        }
+        return STATUSES[stage / STATUSES.length] + " → " + STATUSES[stage % STATUSES.length];
+    }
+
+    private static class StageHistograms {
+        private final String label;
+        private final boolean perThreadRecorders;
+        private final AtomicReferenceArray<LatencyHistogram> stages = new AtomicReferenceArray<>(STAGES);
+
+        StageHistograms(String label, boolean perThreadRecorders) {
+            this.label = label;
+            this.perThreadRecorders = perThreadRecorders;
+        }
+
+        LatencyHistogram get(int stage) {
+            return stages.get(stage);
+        }
+
+        LatencyHistogram getOrCreate(int stage) {
+            LatencyHistogram histogram = stages.get(stage);
+            if (histogram == null) {
+                stages.compareAndSet(stage, null, new LatencyHistogram(perThreadRecorders));
+                histogram = stages.get(stage);
+            }
+            return histogram;
+        }
+
+        void print() {
+            System.out.println(" " + label + ":");
+            for (int stage = 0; stage < STAGES; stage++) {
+                LatencyHistogram histogram = stages.get(stage);
+                if (histogram == null) {
+                    continue;
+                }
+                LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+                System.out.printf("  - %-45s n=%-7d p50 %9.2f  p99 %9.2f  p999 %9.2f  max %9.2f%n",
+                        stageName(stage), snapshot.getTotal(), snapshot.percentileMillis(50),
+                        snapshot.percentileMillis(99), snapshot.percentileMillis(99.9), histogram.getMaxMillis());
+            }
+        }
+
+        void reset() {
+            for (int stage = 0; stage < STAGES; stage++) {
+                LatencyHistogram histogram = stages.get(stage);
+                if (histogram != null) {
+                    histogram.reset();
+                }
+            }
+        }
+    }
+}
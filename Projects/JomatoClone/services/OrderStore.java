@@ -0,0 +1,225 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.enums.OrderStatus;
+import Projects.ZomatoClone.models.Order;
+import Projects.ZomatoClone.models.Rider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// In-memory table of active orders with secondary indexes on status, restaurant,
+// restaurant + status and assigned rider. Every index query costs
+// O(result), never a scan over all orders. Finished orders leave the indexes
+// and are kept by id only, in a bounded history of the most recent ones.
+public class OrderStore {
+    // Power of two so the stripe is picked with a mask
+    private static final int LOCK_STRIPES = 64;
+    private static final int DEFAULT_COMPLETED_CAPACITY = 10_000;
+
+    private final Map<Long, Entry> orders = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, Set<Order>> byStatus = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Order>> byRestaurant = new ConcurrentHashMap<>();
+    private final Map<Long, Map<OrderStatus, Set<Order>>> byRestaurantAndStatus = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Order>> byRider = new ConcurrentHashMap<>();
+
+    // Finished orders, oldest evicted first once there are more than completedCapacity
+    private final Map<Long, Order> completed = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> completedIds = new ConcurrentLinkedQueue<>();
+    private final int completedCapacity;
+
+    // Index moves for one order happen under its stripe, so a reader never
+    // sees an order under two statuses for longer than one update
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+
+    public OrderStore() {
+        this(DEFAULT_COMPLETED_CAPACITY);
+    }
+
+    public OrderStore(int completedCapacity) {
+        this.completedCapacity = completedCapacity;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    // ✅ Register a freshly created order under its current status
+    public void add(Order order) {
+        synchronized (stripeFor(order)) {
+            Entry entry = new Entry(order);
+            if (orders.putIfAbsent(order.getOrderId(), entry) != null) {
+                return;
+            }
+            entry.indexedStatus = order.getOrderStatus();
+            indexStatus(entry, entry.indexedStatus);
+            if (entry.restaurantId != null) {
+                setOf(byRestaurant, entry.restaurantId).add(order);
+            }
+            indexRider(order, entry);
+        }
+    }
+
+    // ✅ Apply a status change and move the order between index buckets.
+    // Returns the status the order was indexed under before the change.
+    public OrderStatus updateStatus(Order order, OrderStatus newStatus) {
+        synchronized (stripeFor(order)) {
+            Entry entry = orders.get(order.getOrderId());
+            OrderStatus oldStatus = order.getOrderStatus();
+            order.setOrderStatus(newStatus);
+            if (entry == null) {
+                return oldStatus;
+            }
+
+            oldStatus = entry.indexedStatus;
+            if (oldStatus != newStatus) {
+                unindexStatus(entry, oldStatus);
+                indexStatus(entry, newStatus);
+                entry.indexedStatus = newStatus;
+            }
+            indexRider(order, entry);
+            return oldStatus;
+        }
+    }
+
+    public Order remove(long orderId) {
+        Entry entry = orders.get(orderId);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (stripeFor(entry.order)) {
+            if (orders.remove(orderId) == null) {
+                return null;
+            }
+            unindexStatus(entry, entry.indexedStatus);
+            if (entry.restaurantId != null) {
+                removeFrom(byRestaurant, entry.restaurantId, entry.order);
+            }
+            if (entry.riderId != null) {
+                removeFrom(byRider, entry.riderId, entry.order);
+            }
+            return entry.order;
+        }
+    }
+
+    // ✅ Order is finished (delivered or abandoned): drop it from every index
+    // and keep it in the completed history, so getOrder still finds recent ones
+    public Order complete(long orderId) {
+        Order order = remove(orderId);
+        if (order == null || completedCapacity <= 0) {
+            return order;
+        }
+        completed.put(orderId, order);
+        completedIds.add(orderId);
+        while (completed.size() > completedCapacity) {
+            Long oldest = completedIds.poll();
+            if (oldest == null) {
+                break;
+            }
+            completed.remove(oldest);
+        }
+        return order;
+    }
+
+    // Active orders first, then the completed history
+    public Order get(long orderId) {
+        Entry entry = orders.get(orderId);
+        return entry != null ? entry.order : completed.get(orderId);
+    }
+
+    // Active orders only
+    public int size() {
+        return orders.size();
+    }
+
+    public int completedSize() {
+        return completed.size();
+    }
+
+    public List<Order> findByStatus(OrderStatus status) {
+        return snapshot(byStatus.get(status));
+    }
+
+    public List<Order> findByRestaurant(long restaurantId) {
+        return snapshot(byRestaurant.get(restaurantId));
+    }
+
+    public List<Order> findByRestaurantAndStatus(long restaurantId, OrderStatus status) {
+        Map<OrderStatus, Set<Order>> statuses = byRestaurantAndStatus.get(restaurantId);
+        return snapshot(statuses == null ? null : statuses.get(status));
+    }
+
+    public List<Order> findByRider(long riderId) {
+        return snapshot(byRider.get(riderId));
+    }
+
+    private void indexStatus(Entry entry, OrderStatus status) {
+        setOf(byStatus, status).add(entry.order);
+        if (entry.restaurantId != null) {
+            setOf(byRestaurantAndStatus.computeIfAbsent(entry.restaurantId, k -> new ConcurrentHashMap<>()), status).add(entry.order);
+        }
+    }
+
+    private void unindexStatus(Entry entry, OrderStatus status) {
+        removeFrom(byStatus, status, entry.order);
+        if (entry.restaurantId != null) {
+            Map<OrderStatus, Set<Order>> statuses = byRestaurantAndStatus.get(entry.restaurantId);
+            if (statuses != null) {
+                removeFrom(statuses, status, entry.order);
+            }
+        }
+    }
+
+    // Rider is known only once DeliveryManager has attached the delivery metadata
+    private void indexRider(Order order, Entry entry) {
+        if (order.getDeliveryMetaData() == null || order.getDeliveryMetaData().getAssignRider() == null) {
+            return;
+        }
+        Rider rider = order.getDeliveryMetaData().getAssignRider();
+        Long riderId = rider.getRiderId();
+        if (riderId.equals(entry.riderId)) {
+            return;
+        }
+        if (entry.riderId != null) {
+            removeFrom(byRider, entry.riderId, order);
+        }
+        setOf(byRider, riderId).add(order);
+        entry.riderId = riderId;
+    }
+
+    // IDs are time-ordered with a small sequence in the low bits, so mix before picking a stripe
+    private Object stripeFor(Order order) {
+        long mixed = order.getOrderId() * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (mixed >>> 58) & (LOCK_STRIPES - 1)];
+    }
+
+    private static <K> Set<Order> setOf(Map<K, Set<Order>> index, K key) {
+        return index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Order>> index, K key, Order order) {
+        Set<Order> set = index.get(key);
+        if (set != null) {
+            set.remove(order);
+        }
+    }
+
+    private static List<Order> snapshot(Set<Order> set) {
+        return set == null ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    private static class Entry {
+        final Order order;
+        final Long restaurantId;
+        OrderStatus indexedStatus;
+        Long riderId;
+
+        Entry(Order order) {
+            this.order = order;
+            this.restaurantId = order.getRestaurant() == null ? null : order.getRestaurant().getRestaurantId();
+        }
+    }
+}
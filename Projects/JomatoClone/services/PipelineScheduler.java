@@ -0,0 +1,45 @@
+package Projects.ZomatoClone.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Shared timer for the order pipeline. Stages wait on a scheduled completion
+// instead of Thread.sleep, so an in-flight order holds no thread while it is
+// cooking or on the road.
+public class PipelineScheduler {
+    private static final PipelineScheduler instance = new PipelineScheduler();
+
+    private final ScheduledExecutorService timer;
+
+    private PipelineScheduler() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "order-pipeline-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.timer = Executors.newScheduledThreadPool(threads, factory);
+    }
+
+    public static PipelineScheduler getInstance() {
+        return instance;
+    }
+
+    // ✅ Completes after the given delay; continuations run on a pipeline thread
+    public CompletableFuture<Void> delay(long millis) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        timer.schedule(() -> future.complete(null), millis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    // ✅ Periodic tick (e.g. batch dispatch); cancel the returned handle to stop it
+    public ScheduledFuture<?> every(long periodMillis, Runnable task) {
+        return timer.scheduleAtFixedRate(task, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,10 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.models.Rider;
+
+// Lets indexes follow a rider's moves and availability flips without rescanning all riders
+public interface RiderStateListener {
+    void onLocationChanged(Rider rider);
+
+    void onAvailabilityChanged(Rider rider, boolean isAvailable);
+}
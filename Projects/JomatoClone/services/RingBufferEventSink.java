@@ -0,0 +1,160 @@
+package Projects.ZomatoClone.service;
+
+import Projects.ZomatoClone.enums.OrderEventType;
+import Projects.ZomatoClone.enums.OrderStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Lock-free multi-producer ring buffer of events, drained to a CSV file by one
+// background thread. Producers claim a slot with a CAS, write its fields into
+// preallocated arrays and publish it; nothing is allocated or formatted on the
+// caller's thread. When the writer falls a full ring behind, new events are
+// dropped and counted rather than blocking the order flow.
+public class RingBufferEventSink implements OrderEventSink {
+    private static final OrderEventType[] TYPES = OrderEventType.values();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final int mask;
+    private final long[] timestamps;
+    private final long[] orderIds;
+    private final long[] values;
+    private final byte[] types;
+    private final byte[] fromStatuses; // ordinal, -1 = none
+    private final byte[] toStatuses;
+    private final String[] details;
+    // Slot i holds sequence published[i] - 1 once its fields are written
+    private final AtomicLongArray published;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    private final BufferedWriter out;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public RingBufferEventSink(Path file, int capacity) throws IOException {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.orderIds = new long[capacity];
+        this.values = new long[capacity];
+        this.types = new byte[capacity];
+        this.fromStatuses = new byte[capacity];
+        this.toStatuses = new byte[capacity];
+        this.details = new String[capacity];
+        this.published = new AtomicLongArray(capacity);
+
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writer = new Thread(this::drainLoop, "order-events-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ✅ Claim, fill, publish: a CAS and a few array stores
+    @Override
+    public void emit(OrderEventType type, long orderId, OrderStatus from, OrderStatus to, long value, String detail) {
+        long seq;
+        do {
+            seq = claimed.get();
+            if (seq - drained.get() > mask) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+
+        int i = (int) seq & mask;
+        timestamps[i] = System.currentTimeMillis();
+        orderIds[i] = orderId;
+        values[i] = value;
+        types[i] = (byte) type.ordinal();
+        fromStatuses[i] = from == null ? -1 : (byte) from.ordinal();
+        toStatuses[i] = to == null ? -1 : (byte) to.ordinal();
+        details[i] = detail;
+        published.lazySet(i, seq + 1);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Events claimed but not yet written out
+    public long getBacklog() {
+        return claimed.get() - drained.get();
+    }
+
+    // ✅ Write out everything published so far, then stop the writer thread
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder line = new StringBuilder(128);
+        try {
+            while (true) {
+                int written = drainAvailable(line);
+                if (written == 0) {
+                    out.flush();
+                    if (!running) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            if (dropped.sum() > 0) {
+                out.write("# dropped " + dropped.sum() + " events (ring full)");
+                out.newLine();
+            }
+            out.close();
+        } catch (IOException e) {
+            System.out.println("⚠️ Order event log stopped: " + e.getMessage());
+        }
+    }
+
+    private int drainAvailable(StringBuilder line) throws IOException {
+        int written = 0;
+        long seq = drained.get();
+        while (true) {
+            int i = (int) seq & mask;
+            if (published.get(i) != seq + 1) {
+                break;
+            }
+            line.setLength(0);
+            line.append(timestamps[i]).append(',')
+                    .append(orderIds[i]).append(',')
+                    .append(TYPES[types[i]]).append(',')
+                    .append(fromStatuses[i] < 0 ? "" : STATUSES[fromStatuses[i]].name()).append(',')
+                    .append(toStatuses[i] < 0 ? "" : STATUSES[toStatuses[i]].name()).append(',')
+                    .append(values[i]).append(',')
+                    .append(details[i] == null ? "" : details[i]);
+            details[i] = null;
+            out.append(line);
+            out.newLine();
+
+            seq++;
+            drained.lazySet(seq);
+            written++;
+        }
+        return written;
+    }
+}
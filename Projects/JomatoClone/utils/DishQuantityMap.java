@@ -0,0 +1,140 @@
+package Projects.ZomatoClone.utils;
+
+import Projects.ZomatoClone.models.Dish;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+// Dish -> quantity map with primitive int values (no Integer boxing).
+// Open addressing with linear probing; removal shifts the probe chain back
+// instead of leaving tombstones. Not thread-safe, like the HashMap it replaces.
+public class DishQuantityMap {
+    private static final int MIN_CAPACITY = 8;
+
+    private Dish[] keys;
+    private int[] quantities;
+    private int size;
+
+    public DishQuantityMap() {
+        this.keys = new Dish[MIN_CAPACITY];
+        this.quantities = new int[MIN_CAPACITY];
+    }
+
+    private DishQuantityMap(DishQuantityMap other) {
+        this.keys = other.keys.clone();
+        this.quantities = other.quantities.clone();
+        this.size = other.size;
+    }
+
+    // ✅ Adds delta (may be negative) and returns the new quantity; entries reaching 0 are removed
+    public int add(Dish dish, int delta) {
+        int slot = find(dish);
+        if (keys[slot] == null) {
+            if (delta <= 0) {
+                return 0;
+            }
+            keys[slot] = dish;
+            quantities[slot] = delta;
+            if (++size * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+            return delta;
+        }
+        int quantity = quantities[slot] + delta;
+        if (quantity <= 0) {
+            removeSlot(slot);
+            return 0;
+        }
+        quantities[slot] = quantity;
+        return quantity;
+    }
+
+    public int get(Dish dish) {
+        int slot = find(dish);
+        return keys[slot] == null ? 0 : quantities[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(quantities, 0);
+        size = 0;
+    }
+
+    public void forEach(ObjIntConsumer<Dish> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], quantities[i]);
+            }
+        }
+    }
+
+    // Independent copy: two array clones, no per-entry work
+    public DishQuantityMap copy() {
+        return new DishQuantityMap(this);
+    }
+
+    // Boxed read-only view for callers that still want a Map
+    public Map<Dish, Integer> toMap() {
+        Map<Dish, Integer> map = new LinkedHashMap<>(size * 2);
+        forEach(map::put);
+        return Collections.unmodifiableMap(map);
+    }
+
+    private int find(Dish dish) {
+        int mask = keys.length - 1;
+        int slot = mix(dish.hashCode()) & mask;
+        while (keys[slot] != null && !keys[slot].equals(dish)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward-shift deletion keeps every remaining key reachable from its home slot
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != null) {
+            int home = mix(keys[next].hashCode()) & mask;
+            boolean movable = (next > hole) ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                keys[hole] = keys[next];
+                quantities[hole] = quantities[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = null;
+        quantities[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        Dish[] oldKeys = keys;
+        int[] oldQuantities = quantities;
+        keys = new Dish[capacity];
+        quantities = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                quantities[slot] = oldQuantities[i];
+            }
+        }
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,22 +1,67 @@
 package Projects.ZomatoClone.utils;
 
-import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+// Snowflake-style 64-bit IDs: | 41 bits ms since EPOCH | 10 bits node | 12 bits sequence |
+// IDs are unique across all entity types on a node and strictly increasing.
 public class IdGeneration {
-    private static final SecureRandom random = new SecureRandom();
+    private static final long EPOCH = 1735689600000L; // 2025-01-01T00:00:00Z
 
-    // Generates a random 6-digit number for order IDs
-    public static int generateOrderId() {
-        return 100000 + random.nextInt(900000);
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    // Set per JVM with -Dzomato.nodeId=<0..1023> when several nodes issue IDs
+    private static final long NODE_ID = readNodeId();
+    private static final long NODE_PART = NODE_ID << SEQUENCE_BITS;
+
+    // Last ID handed out; advanced with CAS only, so no locks and no allocation
+    private static final AtomicLong lastId = new AtomicLong();
+
+    public static long generateOrderId() {
+        return nextId();
+    }
+
+    public static long generateUserId() {
+        return nextId();
+    }
+
+    public static long generateRiderId() {
+        return nextId();
+    }
+
+    public static long generateRestaurantId() {
+        return nextId();
     }
 
-    // Generates a random 4-digit number for user IDs
-    public static int generateUserId() {
-        return 1000 + random.nextInt(9000);
+    // ✅ Current millisecond if it is ahead of the last ID, otherwise last + 1.
+    // When a millisecond's 4096 sequence numbers run out, the ID borrows the next
+    // millisecond instead of spinning, which also keeps IDs monotonic if the wall clock steps back.
+    public static long nextId() {
+        while (true) {
+            long last = lastId.get();
+            long now = ((System.currentTimeMillis() - EPOCH) << TIMESTAMP_SHIFT) | NODE_PART;
+            long next;
+            if (now > last) {
+                next = now;
+            } else if ((last & SEQUENCE_MASK) != SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                next = (((last >>> TIMESTAMP_SHIFT) + 1) << TIMESTAMP_SHIFT) | NODE_PART;
+            }
+            if (lastId.compareAndSet(last, next)) {
+                return next;
+            }
+        }
     }
 
-    // generates a random 5-digit number for restaurant IDs
-    public static int generateRestaurantId() {
-        return 10000 + random.nextInt(90000);
+    private static long readNodeId() {
+        long nodeId = Long.getLong("zomato.nodeId", 0L);
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("zomato.nodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        return nodeId;
     }
 }
@@ -0,0 +1,138 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import enums.SpotType;
+import models.Car;
+import models.ParkingFloor;
+import models.ParkingSpot;
+import models.Vehicle;
+
+// Fills a large floor with cars, one claim at a time, then drains it again.
+// The free-spot index (ParkingFloor.claimSpot / ParkingSpot.removeVehicle) is
+// timed against the linear scan findAvailableSpot used to do: walk every spot,
+// take the first free one that fits. The index costs the same per car however
+// full the floor is; the scan gets slower with every car already parked.
+//
+//   java -cp out benchmarks.FloorAllocationBenchmark [spots]
+public class FloorAllocationBenchmark {
+    private static final int INDEX_WARMUP_ROUNDS = 5;
+    private static final int INDEX_ROUNDS = 10;
+    private static final int SCAN_WARMUP_ROUNDS = 1;
+    private static final int SCAN_ROUNDS = 1;
+
+    public static void main(String[] args) {
+        int spotCount = args.length > 0 ? Integer.parseInt(args[0]) : 60_000;
+        List<Vehicle> cars = new ArrayList<>(spotCount);
+        for (int i = 0; i < spotCount; i++) {
+            cars.add(new Car("CAR" + i, "Grey"));
+        }
+
+        ParkingFloor floor = new ParkingFloor("F1", newSpots(spotCount));
+        ParkingSpot[] claimed = new ParkingSpot[spotCount];
+        for (int round = 0; round < INDEX_WARMUP_ROUNDS; round++) {
+            drain(claimed, fillIndexed(floor, cars, claimed));
+        }
+        Result indexed = new Result();
+        for (int round = 0; round < INDEX_ROUNDS; round++) {
+            long start = System.nanoTime();
+            int parked = fillIndexed(floor, cars, claimed);
+            long filled = System.nanoTime();
+            drain(claimed, parked);
+            indexed.add(parked, filled - start, System.nanoTime() - filled);
+        }
+
+        List<ParkingSpot> spots = newSpots(spotCount);
+        for (int round = 0; round < SCAN_WARMUP_ROUNDS; round++) {
+            drain(claimed, fillScanned(spots, cars, claimed));
+        }
+        Result scanned = new Result();
+        for (int round = 0; round < SCAN_ROUNDS; round++) {
+            long start = System.nanoTime();
+            int parked = fillScanned(spots, cars, claimed);
+            long filled = System.nanoTime();
+            drain(claimed, parked);
+            scanned.add(parked, filled - start, System.nanoTime() - filled);
+        }
+
+        System.out.printf("Floor of %,d spots, %,d of them fit a car%n", spotCount, indexed.parkedPerRound);
+        System.out.printf("Free-spot index : %,12.0f ns per claim, %,8.0f ns per release%n",
+                indexed.claimNanos(), indexed.releaseNanos());
+        System.out.printf("Linear scan     : %,12.0f ns per claim, %,8.0f ns per release%n",
+                scanned.claimNanos(), scanned.releaseNanos());
+        System.out.printf("Index is %,.0fx faster per claim%n", scanned.claimNanos() / indexed.claimNanos());
+    }
+
+    // Same mix on every run: 20% motorcycle, 60% compact, 20% large, interleaved
+    static List<ParkingSpot> newSpots(int count) {
+        List<ParkingSpot> spots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int slot = i % 5;
+            SpotType type = slot == 0 ? SpotType.MOTORCYCLE : slot == 4 ? SpotType.LARGE : SpotType.COMPACT;
+            spots.add(new ParkingSpot("S" + i, type));
+        }
+        return spots;
+    }
+
+    private static int fillIndexed(ParkingFloor floor, List<Vehicle> cars, ParkingSpot[] claimed) {
+        int parked = 0;
+        for (Vehicle car : cars) {
+            ParkingSpot spot = floor.claimSpot(car);
+            if (spot == null) {
+                break;
+            }
+            claimed[parked++] = spot;
+        }
+        return parked;
+    }
+
+    // What ParkingFloor.findAvailableSpot did before the index, followed by park
+    private static int fillScanned(List<ParkingSpot> spots, List<Vehicle> cars, ParkingSpot[] claimed) {
+        int parked = 0;
+        for (Vehicle car : cars) {
+            ParkingSpot found = null;
+            for (ParkingSpot spot : spots) {
+                if (spot.isAvailable() && spot.canFit(car)) {
+                    found = spot;
+                    break;
+                }
+            }
+            if (found == null) {
+                break;
+            }
+            found.park(car);
+            claimed[parked++] = found;
+        }
+        return parked;
+    }
+
+    private static void drain(ParkingSpot[] claimed, int parked) {
+        for (int i = 0; i < parked; i++) {
+            claimed[i].removeVehicle();
+            claimed[i] = null;
+        }
+    }
+
+    private static class Result {
+        int parkedPerRound;
+        long claims;
+        long claimNanos;
+        long releaseNanos;
+
+        void add(int parked, long fillNanos, long drainNanos) {
+            parkedPerRound = parked;
+            claims += parked;
+            claimNanos += fillNanos;
+            releaseNanos += drainNanos;
+        }
+
+        double claimNanos() {
+            return claimNanos / (double) claims;
+        }
+
+        double releaseNanos() {
+            return releaseNanos / (double) claims;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import enums.SpotType;
+import models.Bus;
+import models.Car;
+import models.EntrancePanel;
+import models.ExitPanel;
+import models.Motorcycle;
+import models.OccupancySnapshot;
+import models.ParkingFloor;
+import models.ParkingLot;
+import models.ParkingSpot;
+import models.ParkingTicket;
+import models.Payment;
+import models.TicketRegistry;
+import models.Vehicle;
+import strategy.pricing.FlatPricing;
+
+// Gate threads, each with its own EntrancePanel and ExitPanel, park and
+// release vehicles at random on a small lot so they keep racing for the same
+// spots. A display-board thread polls the occupancy counters meanwhile.
+// Fails (exit code 1) if a spot is ever handed to two vehicles at once, if
+// the free counts ever go out of range or stop adding up to the lot total,
+// or if a spot or ticket is left behind once every vehicle has left.
+//
+//   java -cp out benchmarks.GateStressTest [threads] [spotsPerFloor] [seconds]
+public class GateStressTest {
+    private static final int FLOORS = 3;
+    private static final int MAX_HELD_PER_GATE = 32;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int spotsPerFloor = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 5;
+
+        ParkingLot lot = ParkingLot.getInstance("Stress Lot", "Nowhere");
+        List<ParkingSpot> allSpots = new ArrayList<>();
+        for (int f = 0; f < FLOORS; f++) {
+            List<ParkingSpot> spots = FloorAllocationBenchmark.newSpots(spotsPerFloor);
+            allSpots.addAll(spots);
+            lot.addFloor(new ParkingFloor("F" + f, spots));
+        }
+        int lotTotal = allSpots.size();
+
+        // ✅ Phase 1: gates race; every spot handed out is recorded until its vehicle leaves
+        Map<ParkingSpot, Vehicle> holders = new ConcurrentHashMap<>();
+        AtomicLong admitted = new AtomicLong();
+        AtomicLong turnedAway = new AtomicLong();
+        AtomicLong doubleAllocations = new AtomicLong();
+        AtomicLong wrongVehicle = new AtomicLong();
+        AtomicLong boardReads = new AtomicLong();
+        AtomicLong badBoardReads = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        List<List<ParkingTicket>> stillParked = new ArrayList<>();
+        List<Thread> gates = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int gate = t;
+            List<ParkingTicket> held = new ArrayList<>();
+            stillParked.add(held);
+            gates.add(start("gate-" + gate, () -> {
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                EntrancePanel entrance = new EntrancePanel("Entrance " + gate);
+                ExitPanel exit = newExitPanel(gate);
+                long plate = 0;
+                while (System.nanoTime() < deadline) {
+                    boolean enter = held.isEmpty() || (held.size() < MAX_HELD_PER_GATE && r.nextBoolean());
+                    if (!enter) {
+                        ParkingTicket ticket = held.remove(r.nextInt(held.size()));
+                        holders.remove(ticket.getSpot(), ticket.getVehicle());
+                        leave(exit, ticket);
+                        continue;
+                    }
+                    Vehicle vehicle = newVehicle("G" + gate + "-" + plate++, r.nextInt(10));
+                    ParkingTicket ticket = entrance.admit(lot, vehicle);
+                    if (ticket == null) {
+                        turnedAway.incrementAndGet();
+                        continue;
+                    }
+                    admitted.incrementAndGet();
+                    if (holders.putIfAbsent(ticket.getSpot(), vehicle) != null) {
+                        doubleAllocations.incrementAndGet();
+                    }
+                    if (ticket.getSpot().getVehicle() != vehicle) {
+                        wrongVehicle.incrementAndGet();
+                    }
+                    held.add(ticket);
+                }
+            }));
+        }
+        Thread board = start("board", () -> {
+            while (System.nanoTime() < deadline) {
+                boardReads.incrementAndGet();
+                if (!isConsistent(lot.getOccupancy(), lotTotal)) {
+                    badBoardReads.incrementAndGet();
+                }
+            }
+        });
+        for (Thread gate : gates) {
+            gate.join();
+        }
+        board.join();
+
+        // ✅ Phase 2: gates are quiet, so the counters must match the spots exactly
+        int parked = 0;
+        for (List<ParkingTicket> held : stillParked) {
+            parked += held.size();
+        }
+        int occupiedSpots = countOccupied(allSpots);
+        OccupancySnapshot quiet = lot.getOccupancy();
+        int quietFree = totalFree(quiet);
+        boolean quietOk = occupiedSpots == parked && quietFree + parked == lotTotal
+                && TicketRegistry.getInstance().getOpenTicketCount() == parked;
+
+        // ✅ Phase 3: everyone leaves; the lot must be empty again
+        ExitPanel exit = newExitPanel(threads);
+        for (List<ParkingTicket> held : stillParked) {
+            for (ParkingTicket ticket : held) {
+                leave(exit, ticket);
+            }
+        }
+        OccupancySnapshot empty = lot.getOccupancy();
+        boolean emptyOk = countOccupied(allSpots) == 0 && totalFree(empty) == lotTotal
+                && TicketRegistry.getInstance().getOpenTicketCount() == 0;
+
+        System.out.printf("%d gates, %d floors x %d spots, %d s: %,d vehicles admitted (%,.0f/s), %,d turned away%n",
+                threads, FLOORS, spotsPerFloor, seconds, admitted.get(), admitted.get() / (double) seconds, turnedAway.get());
+        System.out.println("Double allocations    : " + doubleAllocations.get());
+        System.out.println("Spot held by another  : " + wrongVehicle.get());
+        System.out.println("Bad board reads       : " + badBoardReads.get() + " of " + boardReads.get());
+        System.out.println("Parked when gates stop: " + parked + " vehicles, " + occupiedSpots + " spots taken, "
+                + quietFree + " free of " + lotTotal);
+        System.out.println("After everyone left   : " + totalFree(empty) + " free of " + lotTotal + ", "
+                + TicketRegistry.getInstance().getOpenTicketCount() + " open tickets");
+        boolean ok = doubleAllocations.get() == 0 && wrongVehicle.get() == 0 && badBoardReads.get() == 0
+                && quietOk && emptyOk;
+        System.out.println(ok ? "✅ PASS" : "❌ FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // Counters are read one by one while gates run, so only the bounds and the totals are exact
+    private static boolean isConsistent(OccupancySnapshot snapshot, int lotTotal) {
+        int total = 0;
+        for (int floor = 0; floor < snapshot.getFloorCount(); floor++) {
+            for (SpotType type : SpotType.values()) {
+                int free = snapshot.getFree(floor, type);
+                int spots = snapshot.getTotal(floor, type);
+                if (free < 0 || free > spots) {
+                    return false;
+                }
+                total += spots;
+            }
+        }
+        return total == lotTotal;
+    }
+
+    private static int totalFree(OccupancySnapshot snapshot) {
+        int free = 0;
+        for (SpotType type : SpotType.values()) {
+            free += snapshot.getFree(type);
+        }
+        return free;
+    }
+
+    private static int countOccupied(List<ParkingSpot> spots) {
+        int occupied = 0;
+        for (ParkingSpot spot : spots) {
+            if (!spot.isAvailable()) occupied++;
+        }
+        return occupied;
+    }
+
+    private static void leave(ExitPanel exit, ParkingTicket ticket) {
+        Payment payment = exit.processExit(ticket);
+        if (payment == null || !payment.isSuccess()) {
+            throw new IllegalStateException("Exit failed for ticket " + ticket.getTicketId());
+        }
+    }
+
+    // Payment always succeeds and prints nothing, so the gates only contend on the lot
+    private static ExitPanel newExitPanel(int gate) {
+        return new ExitPanel("Exit " + gate, amount -> true, new FlatPricing(50.0));
+    }
+
+    // 60% cars, 30% motorcycles, 10% buses
+    static Vehicle newVehicle(String plate, int roll) {
+        if (roll < 6) {
+            return new Car(plate, "Grey");
+        }
+        return roll < 9 ? new Motorcycle(plate, "Red") : new Bus(plate, "Yellow");
+    }
+
+    private static Thread start(String name, Runnable body) {
+        Thread thread = new Thread(body, name);
+        thread.start();
+        return thread;
+    }
+}
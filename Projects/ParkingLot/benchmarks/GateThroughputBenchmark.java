@@ -0,0 +1,80 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import models.ParkingFloor;
+import models.ParkingLot;
+import models.ParkingSpot;
+import models.Vehicle;
+
+// Spot allocations per second through ParkingLot.parkVehicle with 1 to 64
+// gate threads on a 3-floor lot. Each gate keeps a window of vehicles parked
+// and, per step, releases its oldest one and parks a vehicle in its place, so
+// the lot stays partly full and every allocation races the other gates.
+//
+//   java -cp out benchmarks.GateThroughputBenchmark [seconds] [spotsPerFloor]
+public class GateThroughputBenchmark {
+    private static final int FLOORS = 3;
+    private static final int WINDOW_PER_GATE = 64;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws InterruptedException {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 2;
+        int spotsPerFloor = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        ParkingLot lot = ParkingLot.getInstance("Benchmark Lot", "Nowhere");
+        for (int f = 0; f < FLOORS; f++) {
+            lot.addFloor(new ParkingFloor("F" + f, FloorAllocationBenchmark.newSpots(spotsPerFloor)));
+        }
+
+        System.out.printf("%d floors x %,d spots, %d s per run%n", FLOORS, spotsPerFloor, seconds);
+        run(lot, THREAD_COUNTS[THREAD_COUNTS.length - 1], 1); // warm-up
+        for (int threads : THREAD_COUNTS) {
+            long allocations = run(lot, threads, seconds);
+            System.out.printf("%3d gates: %,14.0f allocations/s%n", threads, allocations / (double) seconds);
+        }
+    }
+
+    // Parks and releases for `seconds` on `threads` gates, then empties the lot again
+    private static long run(ParkingLot lot, int threads, long seconds) throws InterruptedException {
+        AtomicLong allocations = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> gates = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int gate = t;
+            Thread thread = new Thread(() -> {
+                Vehicle[] vehicles = new Vehicle[WINDOW_PER_GATE];
+                for (int i = 0; i < vehicles.length; i++) {
+                    vehicles[i] = GateStressTest.newVehicle("B" + gate + "-" + i, i % 10);
+                }
+                ParkingSpot[] parked = new ParkingSpot[WINDOW_PER_GATE];
+                long count = 0;
+                int next = 0;
+                while (System.nanoTime() < deadline) {
+                    if (parked[next] != null) {
+                        parked[next].removeVehicle();
+                    }
+                    parked[next] = lot.parkVehicle(vehicles[next]);
+                    if (parked[next] != null) {
+                        count++;
+                    }
+                    next = next + 1 == WINDOW_PER_GATE ? 0 : next + 1;
+                }
+                for (ParkingSpot spot : parked) {
+                    if (spot != null) {
+                        spot.removeVehicle();
+                    }
+                }
+                allocations.addAndGet(count);
+            }, "gate-" + gate);
+            thread.start();
+            gates.add(thread);
+        }
+        for (Thread gate : gates) {
+            gate.join();
+        }
+        return allocations.get();
+    }
+}
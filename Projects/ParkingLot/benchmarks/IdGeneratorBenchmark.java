@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import utils.IdGenerator;
+
+// Cost per ID of utils.IdGenerator against the code it replaced:
+// ticket and panel IDs were the first 8 hex characters of a random UUID,
+// payment IDs were "P" + a random 4-digit number. Each generator is timed
+// on one thread after a warm-up, then asked for `count` more IDs to count
+// how many of them repeat.
+//
+//   java -cp out benchmarks.IdGeneratorBenchmark [count]
+public class IdGeneratorBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int IDS_PER_ROUND = 1_000_000;
+
+    private static int sink;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.printf("%-32s %12s %14s%n", "Generator", "ns per ID", "duplicates");
+        report("UUID + replaceAll + substring", IdGeneratorBenchmark::oldTicketId, count);
+        report("IdGenerator.nextTicketId", IdGenerator::nextTicketId, count);
+        report("\"P\" + Math.random()", IdGeneratorBenchmark::oldPaymentId, count);
+        report("IdGenerator.nextPaymentId", IdGenerator::nextPaymentId, count);
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    // What ParkingTicket, EntrancePanel and ExitPanel did before IdGenerator
+    private static String oldTicketId() {
+        return UUID.randomUUID().toString().replaceAll("-", "").substring(0, 8);
+    }
+
+    // What Payment did before IdGenerator
+    private static String oldPaymentId() {
+        return "P" + (1000 + (int) (Math.random() * 9000));
+    }
+
+    private static void report(String name, Supplier<String> generator, int count) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            generate(generator);
+        }
+        long nanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            generate(generator);
+            nanos += System.nanoTime() - start;
+        }
+
+        Set<String> seen = new HashSet<>(count * 2);
+        int duplicates = 0;
+        for (int i = 0; i < count; i++) {
+            if (!seen.add(generator.get())) duplicates++;
+        }
+        System.out.printf("%-32s %12.1f %,14d%n", name, nanos / (double) (ROUNDS * IDS_PER_ROUND), duplicates);
+    }
+
+    // The lengths are summed so the JIT cannot drop the IDs
+    private static void generate(Supplier<String> generator) {
+        int sum = 0;
+        for (int i = 0; i < IDS_PER_ROUND; i++) {
+            sum += generator.get().length();
+        }
+        sink += sum;
+    }
+}
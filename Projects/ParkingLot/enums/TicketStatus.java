@@ -2,6 +2,7 @@ package enums;
 
 public enum TicketStatus {
     ACTIVE,
+    PAYING, // claimed by one exit gate while its payment runs
     PAID,
     LOST,
     EXPIRED
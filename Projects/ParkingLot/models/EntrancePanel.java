@@ -1,17 +1,28 @@
 package models;
 
-import java.util.UUID;
+import utils.IdGenerator;
 
 public class EntrancePanel {
     private String panelId;
     private String location;
 
     public EntrancePanel(String location) {
-        this.panelId = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 8);
+        this.panelId = IdGenerator.nextPanelId();
         this.location = location;
     }
 
     public ParkingTicket issueTicket(Vehicle vehicle, ParkingSpot spot) {
-        return new ParkingTicket(vehicle, spot);
+        ParkingTicket ticket = new ParkingTicket(vehicle, spot);
+        TicketRegistry.getInstance().register(ticket);
+        return ticket;
+    }
+
+    // Claim a spot and issue its ticket in one step; null when the lot is full for this vehicle
+    public ParkingTicket admit(ParkingLot lot, Vehicle vehicle) {
+        ParkingSpot spot = lot.parkVehicle(vehicle);
+        if (spot == null) {
+            return null;
+        }
+        return issueTicket(vehicle, spot);
     }
 }
@@ -1,11 +1,10 @@
 package models;
 
-import java.util.UUID;
-
 import enums.PaymentType;
 import strategy.payment.PaymentStrategy;
 import strategy.pricing.PricingStrategy;
 import enums.TicketStatus;
+import utils.IdGenerator;
 
 public class ExitPanel {
     private String panelId;
@@ -15,16 +14,29 @@ public class ExitPanel {
     private PricingStrategy pricingStrategy;
 
     public ExitPanel(String location, PaymentStrategy paymentStrategy, PricingStrategy pricingStrategy) {
-        this.panelId = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 8);
+        this.panelId = IdGenerator.nextPanelId();
         this.location = location;
         this.paymentStrategy = paymentStrategy;
         this.pricingStrategy = pricingStrategy;
     }
 
+    // Charges the ticket and frees its spot. Returns null if another gate is already
+    // paying this ticket or has paid it, so a ticket is never charged twice.
     public Payment processExit(ParkingTicket ticket) {
+        TicketStatus claimedFrom = ticket.startPayment();
+        if (claimedFrom == null) {
+            return null;
+        }
+
         double fee = pricingStrategy.calculateFee(ticket);
 
-        boolean paymentSuccess = paymentStrategy.pay(fee);
+        boolean paymentSuccess;
+        try {
+            paymentSuccess = paymentStrategy.pay(fee);
+        } catch (RuntimeException e) {
+            ticket.changeStatus(TicketStatus.PAYING, claimedFrom);
+            throw e;
+        }
 
         String ticketId = ticket.getTicketId();
 
@@ -32,9 +44,27 @@ public class ExitPanel {
 
         if (paymentSuccess) {
             payment.markSuccessful();
-            ticket.setStatus(TicketStatus.PAID);
             ticket.setFee(fee);
+            ticket.changeStatus(TicketStatus.PAYING, TicketStatus.PAID);
+            // Free the spot right away so other gates can hand it out
+            ticket.getSpot().removeVehicle();
+            TicketRegistry.getInstance().close(ticket);
+        } else {
+            // Let the driver try again, at this gate or another
+            ticket.changeStatus(TicketStatus.PAYING, claimedFrom);
         }
         return payment;
     }
+
+    // Exit with only the ticket id; null if no open ticket has that id (or it is already being paid)
+    public Payment processExit(String ticketId) {
+        ParkingTicket ticket = TicketRegistry.getInstance().findByTicketId(ticketId);
+        return ticket == null ? null : processExit(ticket);
+    }
+
+    // Lost ticket: look the vehicle up by plate, mark its ticket LOST and charge as usual
+    public Payment processLostTicket(String licensePlate) {
+        ParkingTicket ticket = TicketRegistry.getInstance().reportLost(licensePlate);
+        return ticket == null ? null : processExit(ticket);
+    }
 }
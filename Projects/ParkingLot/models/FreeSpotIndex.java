@@ -0,0 +1,100 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Free spots of one SpotType on one floor.
+// free[0..freeCount) holds the indexes of free spots and position[i] says where
+// spot i sits in it, so taking or freeing any spot is a swap with the last entry: O(1).
+// Its monitor is the lock for this floor and type: a spot's vehicle and its
+// place in the index only ever change together under it.
+// The counts are volatile so occupancy can be read without taking the lock.
+class FreeSpotIndex {
+    private final List<ParkingSpot> spots = new ArrayList<>();
+    private int[] free = new int[16];
+    private int[] position = new int[16];
+    private volatile int freeCount;
+    private volatile int total;
+
+    synchronized void add(ParkingFloor floor, ParkingSpot spot) {
+        int index = spots.size();
+        spots.add(spot);
+        spot.attach(floor, index);
+        total = spots.size();
+        if (index == position.length) {
+            free = Arrays.copyOf(free, index * 2);
+            position = Arrays.copyOf(position, index * 2);
+        }
+        position[index] = -1;
+        if (spot.isAvailable()) {
+            markFree(index);
+        }
+    }
+
+    // Any free spot, or null. Only a hint: another gate may claim it first.
+    synchronized ParkingSpot peek() {
+        return freeCount == 0 ? null : spots.get(free[freeCount - 1]);
+    }
+
+    // Claim any free spot for the vehicle, or return null if none is left
+    synchronized ParkingSpot claimAny(Vehicle vehicle) {
+        if (freeCount == 0) {
+            return null;
+        }
+        int index = free[freeCount - 1];
+        ParkingSpot spot = spots.get(index);
+        // A spot in the free list is always empty: its vehicle only changes under this lock
+        if (!spot.casVehicle(null, vehicle)) {
+            throw new IllegalStateException("Spot " + spot.getId() + " is in the free list but already taken");
+        }
+        markTaken(index);
+        return spot;
+    }
+
+    // Claim this particular spot; false if it is already taken
+    synchronized boolean claim(ParkingSpot spot, Vehicle vehicle) {
+        if (!spot.casVehicle(null, vehicle)) {
+            return false;
+        }
+        markTaken(spot.getIndexInType());
+        return true;
+    }
+
+    // Returns the vehicle that was parked, or null if the spot was already free
+    synchronized Vehicle release(ParkingSpot spot) {
+        Vehicle parked = spot.swapVehicle(null);
+        if (parked != null) {
+            markFree(spot.getIndexInType());
+        }
+        return parked;
+    }
+
+    // Lock-free reads, for display boards
+    int getFreeCount() {
+        return freeCount;
+    }
+
+    int getTotal() {
+        return total;
+    }
+
+    private void markTaken(int index) {
+        int at = position[index];
+        if (at < 0) {
+            return;
+        }
+        int last = free[--freeCount];
+        free[at] = last;
+        position[last] = at;
+        position[index] = -1;
+    }
+
+    private void markFree(int index) {
+        if (position[index] >= 0) {
+            return;
+        }
+        free[freeCount] = index;
+        position[index] = freeCount++;
+    }
+}
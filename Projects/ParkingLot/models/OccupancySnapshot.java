@@ -0,0 +1,75 @@
+package models;
+
+import enums.LotStatus;
+import enums.SpotType;
+
+// Free and total spots per floor and type at one moment, for display boards.
+// Built from the floors' counters only, never from spot objects.
+public class OccupancySnapshot {
+    private static final SpotType[] TYPES = SpotType.values();
+
+    private final LotStatus status;
+    private final String[] floorIds;
+    private final int[][] free;   // [floor][SpotType ordinal]
+    private final int[][] total;
+
+    OccupancySnapshot(LotStatus status, String[] floorIds, int[][] free, int[][] total) {
+        this.status = status;
+        this.floorIds = floorIds;
+        this.free = free;
+        this.total = total;
+    }
+
+    public LotStatus getStatus() {
+        return status;
+    }
+
+    public int getFloorCount() {
+        return floorIds.length;
+    }
+
+    public String getFloorId(int floor) {
+        return floorIds[floor];
+    }
+
+    public int getFree(int floor, SpotType type) {
+        return free[floor][type.ordinal()];
+    }
+
+    public int getTotal(int floor, SpotType type) {
+        return total[floor][type.ordinal()];
+    }
+
+    // Lot-wide free spots of one type
+    public int getFree(SpotType type) {
+        int sum = 0;
+        for (int[] floor : free) {
+            sum += floor[type.ordinal()];
+        }
+        return sum;
+    }
+
+    public int getTotal(SpotType type) {
+        int sum = 0;
+        for (int[] floor : total) {
+            sum += floor[type.ordinal()];
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Lot Status : ").append(status).append('\n');
+        for (int floor = 0; floor < floorIds.length; floor++) {
+            sb.append(floorIds[floor]).append(" :");
+            for (SpotType type : TYPES) {
+                if (total[floor][type.ordinal()] > 0) {
+                    sb.append(' ').append(type).append(' ')
+                            .append(free[floor][type.ordinal()]).append('/').append(total[floor][type.ordinal()]);
+                }
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -1,30 +1,121 @@
 package models;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+
+import enums.SpotType;
+import enums.VehicleType;
 
 public class ParkingFloor {
+    // Spot types each vehicle type can use, smallest first (SpotType is declared smallest first)
+    private static final Map<VehicleType, SpotType[]> FITTING_TYPES = new EnumMap<>(VehicleType.class);
+
+    static {
+        for (VehicleType vehicleType : VehicleType.values()) {
+            List<SpotType> fitting = new ArrayList<>();
+            for (SpotType spotType : SpotType.values()) {
+                if (ParkingSpot.fits(spotType, vehicleType)) {
+                    fitting.add(spotType);
+                }
+            }
+            FITTING_TYPES.put(vehicleType, fitting.toArray(new SpotType[0]));
+        }
+    }
+
+    // Spot types at least one vehicle type can use; the lot is full when none of these is free
+    static final SpotType[] USABLE_TYPES = usableTypes();
+
+    private static SpotType[] usableTypes() {
+        List<SpotType> usable = new ArrayList<>();
+        for (SpotType spotType : SpotType.values()) {
+            for (SpotType[] fitting : FITTING_TYPES.values()) {
+                if (List.of(fitting).contains(spotType)) {
+                    usable.add(spotType);
+                    break;
+                }
+            }
+        }
+        return usable.toArray(new SpotType[0]);
+    }
+
     private String floorId;
     private List<ParkingSpot> parkingSpots;
+    // Free spots per type, so finding one does not walk the floor.
+    // Each index is also the lock for its type on this floor.
+    private final Map<SpotType, FreeSpotIndex> freeSpots = new EnumMap<>(SpotType.class);
 
     public ParkingFloor(String floorId, List<ParkingSpot> parkingSpots) {
         this.floorId = floorId;
-        this.parkingSpots = parkingSpots;
+        this.parkingSpots = new ArrayList<>(parkingSpots.size());
+        for (SpotType type : SpotType.values()) {
+            freeSpots.put(type, new FreeSpotIndex());
+        }
+        for (ParkingSpot spot : parkingSpots) {
+            addParkingSpot(spot);
+        }
     }
 
     public String getFloorId() {
         return floorId;
     }
 
-    public void addParkingSpot(ParkingSpot spot) {
+    public synchronized void addParkingSpot(ParkingSpot spot) {
         parkingSpots.add(spot);
+        freeSpots.get(spot.getSpotType()).add(this, spot);
     }
 
+    // Atomically take the smallest fitting free spot, or return null if the floor has none
+    public ParkingSpot claimSpot(Vehicle vehicle) {
+        for (SpotType type : FITTING_TYPES.get(vehicle.getVehicleType())) {
+            ParkingSpot spot = freeSpots.get(type).claimAny(vehicle);
+            if (spot != null) {
+                return spot;
+            }
+        }
+        return null;
+    }
+
+    // Smallest fitting type first: MOTORCYCLE -> COMPACT -> LARGE. O(number of spot types).
+    // Does not reserve the spot; concurrent gates should use claimSpot instead.
     public ParkingSpot findAvailableSpot(Vehicle vehicle) {
-        for (ParkingSpot spot : parkingSpots) {
-            if (spot.isAvailable() && spot.canFit(vehicle)) {
+        for (SpotType type : FITTING_TYPES.get(vehicle.getVehicleType())) {
+            ParkingSpot spot = freeSpots.get(type).peek();
+            if (spot != null) {
                 return spot;
             }
         }
         return null; // No available spot found
     }
+
+    // Counts are read without locking: each is exact, but two reads may straddle a park
+    public int getFreeSpotCount(SpotType type) {
+        return freeSpots.get(type).getFreeCount();
+    }
+
+    public int getOccupiedSpotCount(SpotType type) {
+        FreeSpotIndex index = freeSpots.get(type);
+        return index.getTotal() - index.getFreeCount();
+    }
+
+    public int getUsableFreeSpotCount() {
+        int free = 0;
+        for (SpotType type : USABLE_TYPES) {
+            free += freeSpots.get(type).getFreeCount();
+        }
+        return free;
+    }
+
+    public int getSpotCount(SpotType type) {
+        return freeSpots.get(type).getTotal();
+    }
+
+    boolean claim(ParkingSpot spot, Vehicle vehicle) {
+        return freeSpots.get(spot.getSpotType()).claim(spot, vehicle);
+    }
+
+    Vehicle release(ParkingSpot spot) {
+        return freeSpots.get(spot.getSpotType()).release(spot);
+    }
 }
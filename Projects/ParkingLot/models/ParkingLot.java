@@ -1,27 +1,34 @@
 package models;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import enums.LotStatus;
+import enums.SpotType;
 
 public class ParkingLot {
-    private static ParkingLot instance;
+    private static volatile ParkingLot instance;
     private String name;
     private String address;
-    private LotStatus status;
-    private List<ParkingFloor> parkingFloors;
+    // OPEN or CLOSED as set by the operator; FULL is worked out from the counters on read
+    private volatile LotStatus status;
+    // Read by every gate on every entry, changed only when a floor is added
+    private final List<ParkingFloor> parkingFloors;
 
     private ParkingLot(String name, String address) {
         this.name = name;
         this.address = address;
         this.status = LotStatus.OPEN;
-        this.parkingFloors = new ArrayList<>();
+        this.parkingFloors = new CopyOnWriteArrayList<>();
     }
 
     public static ParkingLot getInstance(String name, String address) {
         if (instance == null) {
-            instance = new ParkingLot(name, address);
+            synchronized (ParkingLot.class) {
+                if (instance == null) {
+                    instance = new ParkingLot(name, address);
+                }
+            }
         }
         return instance;
     }
@@ -30,6 +37,70 @@ public class ParkingLot {
         parkingFloors.add(floor);
     }
 
+    public List<ParkingFloor> getFloors() {
+        return parkingFloors;
+    }
+
+    // Claims the first fitting free spot, floor by floor; null if the lot has no room for this vehicle.
+    // Safe to call from any number of entrance panels at once.
+    public ParkingSpot parkVehicle(Vehicle vehicle) {
+        if (status == LotStatus.CLOSED) {
+            return null;
+        }
+        for (ParkingFloor floor : parkingFloors) {
+            ParkingSpot spot = floor.claimSpot(vehicle);
+            if (spot != null) {
+                return spot;
+            }
+        }
+        return null;
+    }
+
+    // FULL whenever no usable spot is free on any floor, and back to OPEN as soon as one frees up
+    public LotStatus getStatus() {
+        LotStatus set = status;
+        if (set != LotStatus.OPEN) {
+            return set;
+        }
+        for (ParkingFloor floor : parkingFloors) {
+            if (floor.getUsableFreeSpotCount() > 0) {
+                return LotStatus.OPEN;
+            }
+        }
+        return LotStatus.FULL;
+    }
+
+    // Only OPEN and CLOSED can be set; FULL follows occupancy
+    public void setStatus(LotStatus status) {
+        if (status == LotStatus.FULL) {
+            throw new IllegalArgumentException("FULL is derived from occupancy and cannot be set");
+        }
+        this.status = status;
+    }
+
+    // Cheap enough to poll from a display board: reads two counters per floor and type
+    public OccupancySnapshot getOccupancy() {
+        SpotType[] types = SpotType.values();
+        List<ParkingFloor> floors = parkingFloors;
+        String[] floorIds = new String[floors.size()];
+        int[][] free = new int[floorIds.length][types.length];
+        int[][] total = new int[floorIds.length][types.length];
+        boolean anyFree = false;
+        for (int i = 0; i < floorIds.length; i++) {
+            ParkingFloor floor = floors.get(i);
+            floorIds[i] = floor.getFloorId();
+            for (SpotType type : types) {
+                free[i][type.ordinal()] = floor.getFreeSpotCount(type);
+                total[i][type.ordinal()] = floor.getSpotCount(type);
+            }
+            for (SpotType type : ParkingFloor.USABLE_TYPES) {
+                anyFree |= free[i][type.ordinal()] > 0;
+            }
+        }
+        LotStatus shown = status == LotStatus.OPEN && !anyFree ? LotStatus.FULL : status;
+        return new OccupancySnapshot(shown, floorIds, free, total);
+    }
+
     public String getName() {
         return name;
     }
@@ -1,24 +1,28 @@
 package models;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import enums.SpotType;
 import enums.VehicleType;
 
 public class ParkingSpot {
     private String id;
     private SpotType spotType;
-    private boolean isAvailable;
-    private Vehicle vehicle;
+    // null while free; claimed with a CAS so two gates can never park in the same spot
+    private final AtomicReference<Vehicle> vehicle = new AtomicReference<>();
+
+    // Set when the spot is added to a floor, which keeps its free-spot index in step
+    private volatile ParkingFloor floor;
+    private int indexInType;
 
     public ParkingSpot(String id, SpotType spotType) {
         this.id = id;
         this.spotType = spotType;
-        this.isAvailable = true;
-        this.vehicle = null;
     }
 
     // Public helpers used by callers
     public boolean isAvailable() {
-        return isAvailable;
+        return vehicle.get() == null;
     }
 
     public String getId() {
@@ -29,27 +33,61 @@ public class ParkingSpot {
         return spotType;
     }
 
-    public void park(Vehicle vehicle) {
-        this.vehicle = vehicle;
-        this.isAvailable = false;
+    public Vehicle getVehicle() {
+        return vehicle.get();
+    }
+
+    public ParkingFloor getFloor() {
+        return floor;
+    }
+
+    // Returns false if another vehicle got the spot first
+    public boolean park(Vehicle vehicle) {
+        if (floor != null) {
+            return floor.claim(this, vehicle);
+        }
+        return casVehicle(null, vehicle);
     }
 
     public void removeVehicle() {
-        this.vehicle = null;
-        this.isAvailable = true;
+        if (floor != null) {
+            floor.release(this);
+        } else {
+            swapVehicle(null);
+        }
     }
 
     public boolean canFit(Vehicle vehicle) {
-        if (this.isAvailable) {
-            if (this.spotType == SpotType.MOTORCYCLE) {
-                return vehicle.getVehicleType() == VehicleType.MOTORCYCLE;
-            } else if (this.spotType == SpotType.COMPACT) {
-                return vehicle.getVehicleType() == VehicleType.CAR
-                        || vehicle.getVehicleType() == VehicleType.MOTORCYCLE;
-            } else if (this.spotType == SpotType.LARGE) {
-                return true; // Can fit any vehicle type
-            }
+        return isAvailable() && fits(this.spotType, vehicle.getVehicleType());
+    }
+
+    // Which vehicle types a spot type takes, regardless of whether it is free
+    static boolean fits(SpotType spotType, VehicleType vehicleType) {
+        if (spotType == SpotType.MOTORCYCLE) {
+            return vehicleType == VehicleType.MOTORCYCLE;
+        } else if (spotType == SpotType.COMPACT) {
+            return vehicleType == VehicleType.CAR
+                    || vehicleType == VehicleType.MOTORCYCLE;
+        } else if (spotType == SpotType.LARGE) {
+            return true; // Can fit any vehicle type
         }
         return false;
     }
+
+    void attach(ParkingFloor floor, int indexInType) {
+        this.floor = floor;
+        this.indexInType = indexInType;
+    }
+
+    int getIndexInType() {
+        return indexInType;
+    }
+
+    boolean casVehicle(Vehicle expected, Vehicle newVehicle) {
+        return vehicle.compareAndSet(expected, newVehicle);
+    }
+
+    Vehicle swapVehicle(Vehicle newVehicle) {
+        return vehicle.getAndSet(newVehicle);
+    }
 }
@@ -3,9 +3,9 @@ package models;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
 
 import enums.TicketStatus;
+import utils.IdGenerator;
 
 public class ParkingTicket {
     private String ticketId;
@@ -14,11 +14,11 @@ public class ParkingTicket {
     private LocalDateTime issuedAt;
     private LocalDateTime exitAt;
     private double fee;
-    private TicketStatus status;
+    private volatile TicketStatus status;
 
     public ParkingTicket(Vehicle vehicle, ParkingSpot spot) {
-        // short hex id
-        this.ticketId = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 8);
+        // short base32 id, unique and increasing
+        this.ticketId = IdGenerator.nextTicketId();
         this.vehicle = vehicle;
         this.spot = spot;
         this.issuedAt = LocalDateTime.now();
@@ -30,6 +30,14 @@ public class ParkingTicket {
         return ticketId;
     }
 
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public ParkingSpot getSpot() {
+        return spot;
+    }
+
     public String getissuedAt() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd:MM:yyyy HH:mm:ss");
 
@@ -41,10 +49,30 @@ public class ParkingTicket {
         return status;
     }
 
-    public void setStatus(TicketStatus status) {
+    public synchronized void setStatus(TicketStatus status) {
         this.status = status;
     }
 
+    // Moves to `to` only if the ticket is still in `from`, so a late expiry never overwrites PAID
+    public synchronized boolean changeStatus(TicketStatus from, TicketStatus to) {
+        if (status != from) {
+            return false;
+        }
+        status = to;
+        return true;
+    }
+
+    // Claim the ticket for one exit gate's payment. Returns the status to restore if the
+    // payment fails, or null if the ticket is already being paid or has been paid.
+    public synchronized TicketStatus startPayment() {
+        if (status == TicketStatus.PAYING || status == TicketStatus.PAID) {
+            return null;
+        }
+        TicketStatus previous = status;
+        status = TicketStatus.PAYING;
+        return previous;
+    }
+
     public void setFee(double fee) {
         this.fee = fee;
     }
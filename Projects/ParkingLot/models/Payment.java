@@ -1,9 +1,9 @@
 package models;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 import enums.PaymentType;
+import utils.IdGenerator;
 
 public class Payment {
     private String paymentId;
@@ -14,7 +14,7 @@ public class Payment {
     private boolean isSuccess;
 
     public Payment(String ticketId, double amount, PaymentType paymentType) {
-        this.paymentId = "P" + (1000 + (int) (Math.random() * 9000));
+        this.paymentId = IdGenerator.nextPaymentId();
         this.ticketId = ticketId;
         this.amount = amount;
         this.paymentType = paymentType;
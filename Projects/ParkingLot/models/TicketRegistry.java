@@ -0,0 +1,151 @@
+package models;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import enums.TicketStatus;
+
+// Every ticket for a vehicle still in the lot, indexed by ticket id and by
+// license plate, so an exit gate or a lost-ticket desk finds it in O(1).
+// Tickets leave the registry when they are paid. ACTIVE tickets older than
+// the maximum stay turn EXPIRED through a hashed timer wheel: one slot per
+// second, 4096 slots per turn; longer deadlines wait for later turns.
+// Gates only append to a queue; the wheel itself is touched by the timer thread alone.
+public class TicketRegistry {
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SLOTS = 4096; // power of two, ~68 minutes per turn
+    private static final long DEFAULT_MAX_STAY_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private static final TicketRegistry instance = new TicketRegistry();
+
+    private final Map<String, ParkingTicket> byTicketId = new ConcurrentHashMap<>();
+    private final Map<String, ParkingTicket> byPlate = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Expiry> newExpiries = new ConcurrentLinkedQueue<>();
+    // Timer thread only
+    private final ArrayDeque<Expiry>[] wheel = newWheel();
+    private final long startMillis = System.currentTimeMillis();
+    private long currentTick;
+    private volatile long maxStayMillis = DEFAULT_MAX_STAY_MILLIS;
+
+    private TicketRegistry() {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ticket-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        // An exception would cancel the schedule, so a bad tick is only reported
+        timer.scheduleAtFixedRate(() -> {
+            try {
+                advance();
+            } catch (RuntimeException e) {
+                System.out.println("Ticket expiry tick failed: " + e.getMessage());
+            }
+        }, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public static TicketRegistry getInstance() {
+        return instance;
+    }
+
+    // Applies to tickets registered from now on
+    public void setMaxStayMillis(long maxStayMillis) {
+        this.maxStayMillis = maxStayMillis;
+    }
+
+    public void register(ParkingTicket ticket) {
+        byTicketId.put(ticket.getTicketId(), ticket);
+        byPlate.put(ticket.getVehicle().getLicensePlate(), ticket);
+
+        long deadlineTick = (System.currentTimeMillis() + maxStayMillis - startMillis) / TICK_MILLIS;
+        newExpiries.add(new Expiry(ticket, deadlineTick));
+    }
+
+    public ParkingTicket findByTicketId(String ticketId) {
+        return byTicketId.get(ticketId);
+    }
+
+    // Ticket of the vehicle with this plate currently in the lot, or null
+    public ParkingTicket findByPlate(String licensePlate) {
+        return byPlate.get(licensePlate);
+    }
+
+    // Lost ticket: find it from the plate and mark it LOST; null if the vehicle is not in the lot
+    public ParkingTicket reportLost(String licensePlate) {
+        ParkingTicket ticket = byPlate.get(licensePlate);
+        if (ticket == null) {
+            return null;
+        }
+        if (!ticket.changeStatus(TicketStatus.ACTIVE, TicketStatus.LOST)) {
+            ticket.changeStatus(TicketStatus.EXPIRED, TicketStatus.LOST);
+        }
+        return ticket;
+    }
+
+    // Vehicle has left: drop the ticket from both indexes
+    public void close(ParkingTicket ticket) {
+        byTicketId.remove(ticket.getTicketId(), ticket);
+        byPlate.remove(ticket.getVehicle().getLicensePlate(), ticket);
+    }
+
+    public int getOpenTicketCount() {
+        return byTicketId.size();
+    }
+
+    // One tick: expire what is due in this slot, keep what is due on a later turn.
+    // Closed tickets are dropped here too, so the wheel never holds them for more than one turn.
+    private void advance() {
+        long tick = (System.currentTimeMillis() - startMillis) / TICK_MILLIS;
+        for (Expiry expiry; (expiry = newExpiries.poll()) != null; ) {
+            // Never schedule into a slot the wheel has already passed
+            long due = Math.max(expiry.deadlineTick, currentTick + 1);
+            wheel[(int) (due & (WHEEL_SLOTS - 1))].add(expiry);
+        }
+        while (currentTick < tick) {
+            long now = ++currentTick;
+            ArrayDeque<Expiry> slot = wheel[(int) (now & (WHEEL_SLOTS - 1))];
+            for (int n = slot.size(); n > 0; n--) {
+                Expiry expiry = slot.poll();
+                TicketStatus status = expiry.ticket.getStatus();
+                if ((status != TicketStatus.ACTIVE && status != TicketStatus.PAYING)
+                        || byTicketId.get(expiry.ticket.getTicketId()) != expiry.ticket) {
+                    continue;
+                }
+                // Mid-payment: check again on the next tick, in case the payment fails and it is ACTIVE again
+                if (status == TicketStatus.PAYING) {
+                    wheel[(int) ((now + 1) & (WHEEL_SLOTS - 1))].add(expiry);
+                    continue;
+                }
+                if (expiry.deadlineTick <= now) {
+                    expiry.ticket.changeStatus(TicketStatus.ACTIVE, TicketStatus.EXPIRED);
+                } else {
+                    slot.add(expiry);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArrayDeque<Expiry>[] newWheel() {
+        ArrayDeque<Expiry>[] slots = new ArrayDeque[WHEEL_SLOTS];
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        return slots;
+    }
+
+    private static class Expiry {
+        final ParkingTicket ticket;
+        final long deadlineTick;
+
+        Expiry(ParkingTicket ticket, long deadlineTick) {
+            this.ticket = ticket;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
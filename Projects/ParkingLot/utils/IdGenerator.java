@@ -0,0 +1,66 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Short, unique, increasing IDs for tickets, panels and payments.
+// The number behind each ID is max(last + 1, milliseconds since EPOCH x 1024):
+// one CAS per ID, it keeps increasing across restarts as long as fewer than
+// 1024 IDs per millisecond are issued on average, and it never goes back if
+// the wall clock does. It is written as 10 Crockford base32 characters
+// (no I, L, O or U, so it reads back unambiguously), which sort in issue order until 2059.
+public class IdGenerator {
+    private static final long EPOCH = 1735689600000L; // 2025-01-01T00:00:00Z
+    private static final int IDS_PER_MILLI_BITS = 10;
+    private static final int WIDTH = 10;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static final AtomicLong lastId = new AtomicLong();
+
+    private IdGenerator() {
+    }
+
+    public static String nextTicketId() {
+        return encode(nextId());
+    }
+
+    public static String nextPanelId() {
+        return encode(nextId());
+    }
+
+    public static String nextPaymentId() {
+        return encode('P', nextId());
+    }
+
+    public static long nextId() {
+        while (true) {
+            long last = lastId.get();
+            long next = Math.max(last + 1, (System.currentTimeMillis() - EPOCH) << IDS_PER_MILLI_BITS);
+            if (lastId.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    // Fixed-width base32, most significant character first
+    public static String encode(long id) {
+        return encode((char) 0, id);
+    }
+
+    // Prefix and digits go into one char array, so an ID costs a single String
+    private static String encode(char prefix, long id) {
+        int start = prefix == 0 ? 0 : 1;
+        char[] out = new char[start + WIDTH];
+        if (start == 1) {
+            out[0] = prefix;
+        }
+        for (int i = out.length - 1; i >= start; i--) {
+            out[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        if (id == 0) {
+            return new String(out);
+        }
+        // Past 2059: keep the value unique by prepending the high bits
+        return (prefix == 0 ? "" : String.valueOf(prefix)) + encode(id) + new String(out, start, WIDTH);
+    }
+}